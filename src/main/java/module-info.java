@@ -10,4 +10,6 @@ module shrimpworks.unreal.packages {
 	exports net.shrimpworks.unreal.packages.entities.objects;
 	exports net.shrimpworks.unreal.packages.entities.objects.geometry;
 	exports net.shrimpworks.unreal.packages.entities.properties;
+
+	uses net.shrimpworks.unreal.packages.entities.objects.ObjectProvider;
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package net.shrimpworks.unreal.packages;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import net.shrimpworks.unreal.packages.entities.ExportedObject;
+import net.shrimpworks.unreal.packages.entities.objects.Object;
+
+/**
+ * An {@link ObjectCache} implementation which limits the number of objects
+ * held, and their total weight, evicting least-recently used objects when
+ * either limit is exceeded.
+ *
+ * @see ObjectCache#bounded(int)
+ * @see ObjectCache#weighted(long)
+ */
+public class BoundedObjectCache implements ObjectCache {
+
+	private final int maxObjects;
+	private final long maxWeight;
+
+	// access-ordered, so iteration starts with the least-recently used object
+	private final LinkedHashMap<Key, Entry> objects = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weight;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public BoundedObjectCache(int maxObjects, long maxWeight) {
+		if (maxObjects <= 0) throw new IllegalArgumentException("Maximum object count must be greater than zero");
+		if (maxWeight <= 0) throw new IllegalArgumentException("Maximum cache weight must be greater than zero");
+		this.maxObjects = maxObjects;
+		this.maxWeight = maxWeight;
+	}
+
+	@Override
+	public Object get(Package pkg, ExportedObject export, Function<ExportedObject, Object> loader) {
+		Key key = new Key(pkg, export.index);
+
+		synchronized (this) {
+			Entry existing = objects.get(key);
+			if (existing != null) {
+				hits++;
+				return existing.object;
+			}
+			misses++;
+		}
+
+		// load outside the lock, so other objects may be served while this one loads
+		Object loaded = loader.apply(export);
+		if (loaded == null) return null;
+
+		synchronized (this) {
+			// someone else may have loaded the same object in the meantime, prefer theirs
+			Entry existing = objects.putIfAbsent(key, new Entry(loaded, Math.max(1, export.size)));
+			if (existing != null) return existing.object;
+
+			weight += Math.max(1, export.size);
+			evict(key);
+		}
+
+		return loaded;
+	}
+
+	@Override
+	public synchronized void invalidate(Package pkg) {
+		Iterator<Map.Entry<Key, Entry>> it = objects.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Key, Entry> e = it.next();
+			if (e.getKey().pkg() != pkg) continue;
+
+			it.remove();
+			weight -= e.getValue().weight;
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		objects.clear();
+		weight = 0;
+	}
+
+	@Override
+	public synchronized Stats stats() {
+		return new Stats(hits, misses, evictions, objects.size(), weight);
+	}
+
+	/**
+	 * Evict least-recently used objects until the cache is within its
+	 * limits, never evicting the most recently added object.
+	 */
+	private void evict(Key retain) {
+		Iterator<Map.Entry<Key, Entry>> it = objects.entrySet().iterator();
+		while ((objects.size() > maxObjects || weight > maxWeight) && it.hasNext()) {
+			Map.Entry<Key, Entry> eldest = it.next();
+			if (eldest.getKey().equals(retain)) continue;
+
+			it.remove();
+			weight -= eldest.getValue().weight;
+			evictions++;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("BoundedObjectCache [maxObjects=%s, maxWeight=%s, stats=%s]", maxObjects, maxWeight, stats());
+	}
+
+	private record Entry(Object object, long weight) {}
+}
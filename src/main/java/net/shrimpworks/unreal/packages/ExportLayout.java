@@ -0,0 +1,99 @@
+package net.shrimpworks.unreal.packages;
+
+/**
+ * The layout of a single entry within a package's exports table, which
+ * varies quite a bit between package versions.
+ * <p>
+ * All ways of reading exports walk entries using {@link #read(PackageReader, int, Sink)},
+ * and keep whichever values they need from the provided {@link Sink}, so
+ * the layout is described in only one place.
+ */
+final class ExportLayout {
+
+	/**
+	 * A sink which keeps nothing, for skipping over entries.
+	 */
+	static final Sink SKIP = new Sink() {};
+
+	private ExportLayout() {
+		// static only
+	}
+
+	/**
+	 * Receives the values of an export entry as it is walked.
+	 * <p>
+	 * References to names, exports and imports are provided as raw index
+	 * values, as read from the package. Name numbers are only present in
+	 * Unreal Engine 3 packages, and are otherwise -1.
+	 * <p>
+	 * All callbacks do nothing by default.
+	 */
+	interface Sink {
+
+		/**
+		 * The start of the export's components, called only for package
+		 * versions which have components, even if there are none.
+		 *
+		 * @param count number of components
+		 */
+		default void components(int count) {}
+
+		default void component(int name, int nameNumber, int objectIndex) {}
+
+		/**
+		 * Called once the entire export entry has been walked.
+		 */
+		default void export(int classIndex, int superIndex, int groupIndex, int name, int nameNumber, long flags, int size, int pos) {}
+	}
+
+	/**
+	 * Walk a single export entry from the reader's current position,
+	 * leaving the reader positioned at the start of the following entry.
+	 *
+	 * @param reader  reader positioned at the start of an export entry
+	 * @param version package version
+	 * @param sink    receives the entry's values
+	 */
+	static void read(PackageReader reader, int version, Sink sink) {
+		boolean numbers = version >= 343;
+
+		int classIndex = reader.readIndex();
+		int superIndex = reader.readIndex();
+		int groupIndex = reader.readInt();
+		int name = reader.readIndex();
+		int nameNumber = numbers ? reader.readInt() : -1;
+
+		if (version >= 220) reader.readInt(); // skipping: archetype (ObjectReference)
+
+		long flags = version >= 195 ? reader.readLong() : reader.readInt();
+
+		// data (properties, etc) size and location
+		int size = reader.readIndex();
+		int pos = size > 0 || version >= 249 ? reader.readIndex() : 0;
+
+		if (version >= 220 && version < 543) {
+			int componentCount = reader.readInt();
+			sink.components(componentCount);
+			if (componentCount > 0) reader.ensureRemaining((componentCount * 12) + 28);
+			for (int i = 0; i < componentCount; i++) {
+				int componentName = reader.readIndex();
+				int componentNumber = numbers ? reader.readInt() : -1;
+				sink.component(componentName, componentNumber, reader.readInt());
+			}
+		}
+
+		if (version >= 220) reader.readInt(); // skipping: exportFlags
+
+		int netObjectCount = version >= 322 ? reader.readInt() : 0;
+
+		if (version >= 220) reader.moveRelative(16); // skipping: guid
+
+		if (version >= 487) reader.readInt(); // skipping: packageFlags
+
+		for (int i = 0; i < netObjectCount; i++) {
+			reader.readIndex(); // skipping: netObjects[] (ObjectReference)
+		}
+
+		sink.export(classIndex, superIndex, groupIndex, name, nameNumber, flags, size, pos);
+	}
+}
@@ -0,0 +1,44 @@
+package net.shrimpworks.unreal.packages;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * An unmodifiable list view over a set of table indices, resolving each
+ * index to its table entry as it's accessed.
+ * <p>
+ * Used to return the results of index lookups without copying the entries
+ * into a new collection.
+ *
+ * @param <T> table entry type
+ */
+class IndexedList<T> extends AbstractList<T> implements RandomAccess {
+
+	private final int[] indices;
+	private final int from;
+	private final int to;
+	private final IntFunction<T> resolver;
+
+	IndexedList(int[] indices, IntFunction<T> resolver) {
+		this(indices, 0, indices.length, resolver);
+	}
+
+	IndexedList(int[] indices, int from, int to, IntFunction<T> resolver) {
+		this.indices = indices;
+		this.from = from;
+		this.to = to;
+		this.resolver = resolver;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= to - from) throw new IndexOutOfBoundsException(index);
+		return resolver.apply(indices[from + index]);
+	}
+
+	@Override
+	public int size() {
+		return to - from;
+	}
+}
@@ -15,6 +15,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -38,6 +39,8 @@ public class IntFile {
 	private static final String MAP_VALUE_SPLIT = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
 
 	private final List<Section> sections;
+	// sections by lower-cased name, for quick lookup
+	private final Map<String, Section> sectionIndex;
 
 	public IntFile(Path intFile) throws IOException {
 		this(FileChannel.open(intFile, StandardOpenOption.READ), false, DEFAULT_CHARSET);
@@ -116,6 +119,12 @@ public class IntFile {
 				}
 			}
 		}
+
+		// where sections are repeated, the first one wins
+		this.sectionIndex = new HashMap<>();
+		for (Section s : sections) {
+			sectionIndex.putIfAbsent(s.name.toLowerCase(Locale.ROOT), s);
+		}
 	}
 
 	/**
@@ -125,7 +134,7 @@ public class IntFile {
 	 * @return the section, or null if not found
 	 */
 	public Section section(String section) {
-		return sections.stream().filter(s -> s.name.equalsIgnoreCase(section)).findFirst().orElse(null);
+		return sectionIndex.get(section.toLowerCase(Locale.ROOT));
 	}
 
 	/**
@@ -0,0 +1,49 @@
+package net.shrimpworks.unreal.packages;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import net.shrimpworks.unreal.packages.entities.ExportedObject;
+import net.shrimpworks.unreal.packages.entities.objects.Object;
+
+/**
+ * An {@link ObjectCache} implementation which does not hold any objects.
+ */
+public class NoObjectCache implements ObjectCache {
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Create a new cache which holds nothing.
+	 *
+	 * @see ObjectCache#none()
+	 */
+	public NoObjectCache() {
+	}
+
+	@Override
+	public Object get(Package pkg, ExportedObject export, Function<ExportedObject, Object> loader) {
+		misses.increment();
+		return loader.apply(export);
+	}
+
+	@Override
+	public void invalidate(Package pkg) {
+		// nothing to invalidate
+	}
+
+	@Override
+	public void clear() {
+		// nothing to clear
+	}
+
+	@Override
+	public Stats stats() {
+		return new Stats(0, misses.sum(), 0, 0, 0);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("NoObjectCache [stats=%s]", stats());
+	}
+}
@@ -0,0 +1,139 @@
+package net.shrimpworks.unreal.packages;
+
+import java.util.function.Function;
+
+import net.shrimpworks.unreal.packages.entities.ExportedObject;
+import net.shrimpworks.unreal.packages.entities.objects.Object;
+
+/**
+ * A cache of objects read from packages, used to avoid repeatedly reading
+ * and parsing the same objects.
+ * <p>
+ * Objects are keyed by the package they belong to and their export index,
+ * allowing a single cache instance to be shared between several packages,
+ * so that the memory used by cached objects may be limited across an
+ * application rather than per package.
+ * <p>
+ * Implementations must be safe for concurrent use.
+ *
+ * @see Package#setObjectCache(ObjectCache)
+ */
+public interface ObjectCache {
+
+	/**
+	 * Get an object from the cache, loading it via the provided loader if it
+	 * is not present.
+	 *
+	 * @param pkg    package the object belongs to
+	 * @param export the export to get an object for
+	 * @param loader function to load the object if it is not cached
+	 * @return the object
+	 */
+	Object get(Package pkg, ExportedObject export, Function<ExportedObject, Object> loader);
+
+	/**
+	 * Remove all objects belonging to a package from the cache.
+	 * <p>
+	 * Called when a package is closed, so a cache shared between several
+	 * packages does not keep closed packages and their objects reachable.
+	 *
+	 * @param pkg package to remove objects of
+	 */
+	void invalidate(Package pkg);
+
+	/**
+	 * Remove all objects from the cache.
+	 */
+	void clear();
+
+	/**
+	 * Get a snapshot of this cache's statistics.
+	 *
+	 * @return cache statistics
+	 */
+	Stats stats();
+
+	/**
+	 * Create a cache which holds nothing, so every object is read anew each
+	 * time it's requested.
+	 *
+	 * @return a new cache
+	 */
+	static ObjectCache none() {
+		return new NoObjectCache();
+	}
+
+	/**
+	 * Create a new cache which holds objects via soft references, so they
+	 * may be reused until the garbage collector needs the memory they
+	 * occupy.
+	 *
+	 * @return a new cache
+	 */
+	static ObjectCache soft() {
+		return new SoftObjectCache();
+	}
+
+	/**
+	 * Create a new cache which holds up to a maximum number of objects,
+	 * evicting the least-recently used objects once that limit is exceeded.
+	 *
+	 * @param maxObjects maximum number of objects held
+	 * @return a new cache
+	 */
+	static ObjectCache bounded(int maxObjects) {
+		return new BoundedObjectCache(maxObjects, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new cache which holds objects up to a maximum total weight,
+	 * evicting the least-recently used objects once that limit is exceeded.
+	 * <p>
+	 * The weight of an object is the size of its serialised data within the
+	 * package, which is a reasonable approximation of the relative memory
+	 * required by a parsed object.
+	 *
+	 * @param maxWeight maximum total weight of all objects held
+	 * @return a new cache
+	 */
+	static ObjectCache weighted(long maxWeight) {
+		return new BoundedObjectCache(Integer.MAX_VALUE, maxWeight);
+	}
+
+	/**
+	 * Key identifying an object within a particular package.
+	 *
+	 * @param pkg    the package
+	 * @param export index of the object's export
+	 */
+	record Key(Package pkg, int export) {
+
+		@Override
+		public boolean equals(java.lang.Object o) {
+			return o instanceof Key other && other.pkg == pkg && other.export == export;
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(pkg) * 31) + export;
+		}
+	}
+
+	/**
+	 * Cache statistics.
+	 *
+	 * @param hits      number of requests satisfied by the cache
+	 * @param misses    number of requests which required loading an object
+	 * @param evictions number of objects evicted from the cache
+	 * @param objects   number of objects currently held
+	 * @param weight    total weight of objects currently held
+	 */
+	record Stats(long hits, long misses, long evictions, int objects, long weight) {
+
+		@Override
+		public String toString() {
+			return String.format("ObjectCache.Stats [hits=%s, misses=%s, evictions=%s, objects=%s, weight=%s]",
+								 hits, misses, evictions, objects, weight);
+		}
+	}
+}
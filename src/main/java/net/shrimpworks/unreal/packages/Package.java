@@ -8,15 +8,15 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import net.shrimpworks.unreal.packages.compression.CompressedChunk;
 import net.shrimpworks.unreal.packages.compression.CompressionFormat;
 import net.shrimpworks.unreal.packages.entities.Export;
 import net.shrimpworks.unreal.packages.entities.ExportedEntry;
@@ -25,25 +25,20 @@ import net.shrimpworks.unreal.packages.entities.ExportedObject;
 import net.shrimpworks.unreal.packages.entities.FieldTypes;
 import net.shrimpworks.unreal.packages.entities.Import;
 import net.shrimpworks.unreal.packages.entities.Name;
+import net.shrimpworks.unreal.packages.entities.NamePool;
 import net.shrimpworks.unreal.packages.entities.NameNumber;
 import net.shrimpworks.unreal.packages.entities.Named;
 import net.shrimpworks.unreal.packages.entities.ObjectFlag;
 import net.shrimpworks.unreal.packages.entities.ObjectReference;
 import net.shrimpworks.unreal.packages.entities.objects.Object;
+import net.shrimpworks.unreal.packages.entities.objects.ObjectConstructor;
 import net.shrimpworks.unreal.packages.entities.objects.ObjectFactory;
 import net.shrimpworks.unreal.packages.entities.objects.ObjectHeader;
-import net.shrimpworks.unreal.packages.entities.properties.ArrayProperty;
-import net.shrimpworks.unreal.packages.entities.properties.BooleanProperty;
-import net.shrimpworks.unreal.packages.entities.properties.ByteProperty;
-import net.shrimpworks.unreal.packages.entities.properties.EnumProperty;
-import net.shrimpworks.unreal.packages.entities.properties.FixedArrayProperty;
-import net.shrimpworks.unreal.packages.entities.properties.FloatProperty;
-import net.shrimpworks.unreal.packages.entities.properties.IntegerProperty;
-import net.shrimpworks.unreal.packages.entities.properties.NameProperty;
-import net.shrimpworks.unreal.packages.entities.properties.ObjectProperty;
+import net.shrimpworks.unreal.packages.entities.properties.IntArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.LazyPropertyList;
 import net.shrimpworks.unreal.packages.entities.properties.Property;
 import net.shrimpworks.unreal.packages.entities.properties.PropertyType;
-import net.shrimpworks.unreal.packages.entities.properties.StringProperty;
+import net.shrimpworks.unreal.packages.entities.properties.PropertyVisitor;
 import net.shrimpworks.unreal.packages.entities.properties.StructProperty;
 import net.shrimpworks.unreal.packages.entities.properties.UnknownArrayProperty;
 
@@ -78,6 +73,11 @@ public class Package implements Closeable {
 
 	private static final int[] PROPERTY_SIZE_MAP = { 1, 2, 4, 12, 16 };
 
+	private static final int[] NO_INDICES = {};
+
+	// bytes of typed array elements to ensure are available within the read buffer at a time
+	private static final int ARRAY_READ_BATCH = 1024;
+
 	public enum PackageFlag {
 		AllowDownload(0x0001),    //	Allow downloading package
 		ClientOptional(0x0002),   //	Purely optional for clients
@@ -99,8 +99,57 @@ public class Package implements Closeable {
 		}
 	}
 
+	/**
+	 * Defines how a package's names, exports and imports tables are read.
+	 */
+	public enum TableMode {
+		/**
+		 * All table entries are read when the package is opened.
+		 */
+		EAGER,
+		/**
+		 * Only the positions of table entries are recorded when the package
+		 * is opened, and each entry is read when it is first accessed.
+		 * <p>
+		 * In this mode, the {@link #names}, {@link #exports},
+		 * {@link #imports}, {@link #objects} and {@link #fields} arrays are
+		 * only populated as entries are accessed, so entries should be
+		 * accessed via {@link #nameAt(int)}, {@link #exportAt(int)},
+		 * {@link #importAt(int)}, {@link #objectAt(int)} and
+		 * {@link #fieldAt(int)} rather than via the arrays directly.
+		 */
+		LAZY,
+		/**
+		 * The names table is read when the package is opened, while the
+		 * exports and imports tables are read into compact primitive
+		 * columns.
+		 * <p>
+		 * Export and import instances are created from these columns each
+		 * time they're accessed, and are not retained, which greatly reduces
+		 * the memory used by packages which remain open for a long time.
+		 * Objects and fields are retained once accessed, as in lazy mode.
+		 * <p>
+		 * As with lazy mode, the {@link #exports}, {@link #imports},
+		 * {@link #objects} and {@link #fields} arrays are not populated up
+		 * front, so entries should be accessed via {@link #exportAt(int)},
+		 * {@link #importAt(int)}, {@link #objectAt(int)} and
+		 * {@link #fieldAt(int)}.
+		 */
+		COLUMNAR
+	}
+
 	private final PackageReader reader;
 
+	/**
+	 * How this package's tables are read.
+	 */
+	public final TableMode tableMode;
+
+	/**
+	 * The package header.
+	 */
+	public final PackageSummary summary;
+
 	/**
 	 * Package file version.
 	 *
@@ -140,16 +189,25 @@ public class Package implements Closeable {
 
 	/**
 	 * Names defined in this package.
+	 * <p>
+	 * Note that in {@link TableMode#LAZY} mode, entries will be null until
+	 * accessed via {@link #nameAt(int)}.
 	 */
 	public final Name[] names;
 
 	/**
 	 * Exported entities, objects and fields, contained within this package.
+	 * <p>
+	 * Note that in {@link TableMode#LAZY} mode, entries will be null until
+	 * accessed via {@link #exportAt(int)}.
 	 */
 	public final Export[] exports;
 
 	/**
 	 * Import references which this packages' exports depend on.
+	 * <p>
+	 * Note that in {@link TableMode#LAZY} mode, entries will be null until
+	 * accessed via {@link #importAt(int)}.
 	 */
 	public final Import[] imports;
 
@@ -163,125 +221,155 @@ public class Package implements Closeable {
 	 */
 	public final ExportedField[] fields;
 
-	// cache of already-parsed/read objects, simply keyed by file position
-	private final WeakHashMap<Integer, Object> loadedObjects;
-	// cache of reusable object references
-	private final WeakHashMap<Integer, ObjectReference> objectReferences;
+	// for lazy table mode, positions of each table entry, and readers and locks used to read them
+	private final int[] nameOffsets;
+	private final int[] exportOffsets;
+	private final int[] importOffsets;
+	private final PackageReader nameReader;
+	private final PackageReader tableReader;
+	// for columnar table mode, the exports and imports tables
+	private final TableColumns columns;
+
+	// index of exports by class, created when first needed
+	private volatile ClassIndex classIndex;
+	// index of names and exports by name, created when first needed
+	private volatile NameIndex nameIndex;
+	// parent/child adjacency of exports and imports, created when first needed
+	private volatile Hierarchy hierarchy;
+	// exports and imports by full path, created when first needed
+	private volatile PathIndex pathIndex;
+	// property and struct types by name index, created when first needed
+	private volatile TypeIndex types;
+
+	// optional shared source of names
+	private final NamePool namePool;
+
+	// cache of already-parsed/read objects
+	private volatile ObjectCache objectCache;
+	// whether objects' property values are read when first accessed
+	private volatile boolean lazyProperties;
+	// cursors for reading lazily read property values, one per thread, created when first needed
+	private final ThreadLocal<PackageReader> valueReaders;
+	// declared element types of dynamic arrays, by lower-cased property name
+	private final Map<String, PropertyType> arrayTypes = new ConcurrentHashMap<>();
+	// reusable object references, indexed by export or import index, populated as needed
+	private final ObjectReference[] exportReferences;
+	private final ObjectReference[] importReferences;
+	// object constructors for each class import, resolved as needed
+	private final ObjectConstructor[] constructors;
 
 	public Package(Path packageFile) throws IOException {
 		this(new PackageReader(packageFile));
 	}
 
-	public Package(PackageReader reader) {
-		this.reader = reader;
-
-		reader.moveTo(0); // overly explicit start from the start
-
-		if (reader.readInt() != PKG_SIGNATURE) throw new IllegalArgumentException("Package does not seem to be an Unreal package");
-
-		// internal caches
-		this.loadedObjects = new WeakHashMap<>();
-		this.objectReferences = new WeakHashMap<>();
-
-		this.version = reader.readShort();
-		reader.version = version;
-
-		this.license = reader.readShort();
-
-		if (version >= 249) {
-			// maybe we'd want to validate after reading the header
-			reader.readInt(); // skipping: headerSize
-		}
-		if (version >= 269) {
-			// this seems to not be used
-			reader.readString(); // skipping: folderName
-		}
-
-		this.flags = reader.readInt();
+	public Package(Path packageFile, TableMode tableMode) throws IOException {
+		this(new PackageReader(packageFile), tableMode);
+	}
 
-		int nameCount = reader.readInt();
-		int namePos = reader.readInt();
+	public Package(Path packageFile, TableMode tableMode, NamePool namePool) throws IOException {
+		this(new PackageReader(packageFile), tableMode, namePool);
+	}
 
-		int exportCount = reader.readInt();
-		int exportPos = reader.readInt();
+	public Package(PackageReader reader) {
+		this(reader, TableMode.EAGER);
+	}
 
-		int importCount = reader.readInt();
-		int importPos = reader.readInt();
+	public Package(PackageReader reader, TableMode tableMode) {
+		this(reader, tableMode, null);
+	}
 
-		if (version >= 415) {
-			// dependencies table position - not used
-			reader.readInt(); // skipping: dependsPos
-		}
+	/**
+	 * Create a new package.
+	 * <p>
+	 * When a name pool is provided, all names of this package, including
+	 * the individual numbered names referenced by Unreal Engine 3 packages,
+	 * are taken from the pool. Sharing a pool, such as
+	 * {@link NamePool#global()}, between many packages greatly reduces the
+	 * memory used by their names.
+	 *
+	 * @param reader    package reader
+	 * @param tableMode how the package's tables should be read
+	 * @param namePool  pool to take names from, or null to create names for
+	 *                  this package only
+	 */
+	public Package(PackageReader reader, TableMode tableMode, NamePool namePool) {
+		this.reader = reader;
+		this.tableMode = tableMode;
+		this.namePool = namePool;
 
-		if (version >= 584) {
-			reader.moveRelative(16); // skipping: 16 unknown bytes (a GUID?)
-		}
+		// read the package header, and names table if we're not going to read it lazily
+		this.summary = new PackageSummary(reader, tableMode != TableMode.LAZY, namePool);
 
-		if (version < 68) {
-			// unused, we don't care about the heritage values or the heritage table
-			reader.readInt(); // skipping: heritageCount
-			reader.readInt(); // skipping: heritagePos
-		} else {
-			// unused, we don't care about the guid, or generation counters or the generation information
-			reader.moveRelative(16); // skipping: guid
-			int generationCount = reader.readInt();
-			for (int i = 0; i < generationCount; i++) {
-				reader.readInt(); // skipping: genExpCount
-				reader.readInt(); // skipping: genNameCount
-				if (version > 322) {
-					reader.readInt(); // skipping: netObjectsCount
-				}
-			}
+		// internal caches
+		this.objectCache = ObjectCache.soft();
+		this.valueReaders = ThreadLocal.withInitial(reader::cursor);
+		this.exportReferences = new ObjectReference[summary.exportCount];
+		this.importReferences = new ObjectReference[summary.importCount];
+		this.constructors = new ObjectConstructor[summary.importCount];
+
+		this.version = summary.version;
+		this.license = summary.license;
+		this.flags = summary.flags;
+		this.engineVersion = summary.engineVersion;
+		this.compressionFormat = summary.compressionFormat;
+		this.compressedChunkCount = summary.compressedChunks.length;
+
+		if (tableMode == TableMode.LAZY) {
+			// just find where everything is, each entry will be read when it's needed
+			this.nameOffsets = nameOffsets(summary.nameCount, summary.namePos);
+			this.exportOffsets = exportOffsets(summary.exportCount, summary.exportPos);
+			this.importOffsets = importOffsets(summary.importCount, summary.importPos);
+			this.nameReader = reader.cursor();
+			this.tableReader = reader.cursor();
+			this.columns = null;
+
+			this.names = new Name[summary.nameCount];
+			this.exports = new Export[summary.exportCount];
+			this.imports = new Import[summary.importCount];
+			this.objects = new ExportedObject[summary.exportCount];
+			this.fields = new ExportedField[summary.exportCount];
+			return;
 		}
 
-		this.engineVersion = version >= 245 ? reader.readInt() : version;
-
-		if (version >= 277) {
-			// we don't track the cooker version
-			reader.readInt(); // skipping: cookerVersion
+		this.nameOffsets = null;
+		this.exportOffsets = null;
+		this.importOffsets = null;
+		this.nameReader = null;
+		this.tableReader = null;
+
+		if (tableMode == TableMode.COLUMNAR) {
+			this.names = summary.names;
+			this.columns = new TableColumns(reader, summary);
+
+			this.exports = new Export[summary.exportCount];
+			this.imports = new Import[summary.importCount];
+			this.objects = new ExportedObject[summary.exportCount];
+			this.fields = new ExportedField[summary.exportCount];
+			return;
 		}
 
-		// read compressed chunk information and tell the package reader about them
-		this.compressionFormat = version >= 334 ? CompressionFormat.fromFlag(reader.readInt()) : CompressionFormat.NONE;
-		this.compressedChunkCount = version >= 334 ? reader.readInt() : 0;
-		if (compressionFormat != CompressionFormat.NONE) {
-			CompressedChunk[] chunks = new CompressedChunk[this.compressedChunkCount];
-			for (int i = 0; i < this.compressedChunkCount; i++) {
-				chunks[i] = new CompressedChunk(
-					compressionFormat,
-					reader.readInt(),
-					reader.readInt(),
-					reader.readInt(),
-					reader.readInt()
-				);
-			}
-			reader.setChunks(chunks);
-		}
+		this.columns = null;
 
-		// read the names table
-		this.names = names(nameCount, namePos);
+		this.names = summary.names;
 
 		// read the exports table; this simply reads the exports and makes no attempt to classify the exported content
-		this.exports = exports(exportCount, exportPos);
+		this.exports = exports(summary.exportCount, summary.exportPos);
 
 		// read the imports table (arguably might be useful to read before exports)
-		this.imports = imports(importCount, importPos);
+		this.imports = imports(summary.importCount, summary.importPos);
 
 		// convenience - try to collect objects and fields into separate collections for easier management
 		this.objects = new ExportedObject[exports.length];
 		this.fields = new ExportedField[exports.length];
 		for (int i = 0; i < exports.length; i++) {
-			ExportedEntry e = (ExportedEntry)exports[i];
-			if (FieldTypes.isField(e.classIndex)) {
-				fields[i] = e.asField();
-			} else {
-				objects[i] = e.asObject();
-			}
+			classify(i);
 		}
 	}
 
 	@Override
 	public void close() throws IOException {
+		// the cache may be shared with other packages, so should not hold on to this one
+		this.objectCache.invalidate(this);
 		this.reader.close();
 	}
 
@@ -298,6 +386,98 @@ public class Package implements Closeable {
 		return PackageFlag.fromFlags(flags);
 	}
 
+	/**
+	 * Get a name from the package's names table.
+	 *
+	 * @param index index of the name
+	 * @return the name
+	 */
+	public Name nameAt(int index) {
+		Name name = names[index];
+		if (name != null) return name;
+
+		synchronized (nameReader) {
+			if (names[index] == null) {
+				nameReader.moveTo(nameOffsets[index]);
+				nameReader.ensureRemaining(256); // more-or-less
+				names[index] = readName(nameReader);
+			}
+			return names[index];
+		}
+	}
+
+	/**
+	 * Get an export from the package's exports table.
+	 *
+	 * @param index index of the export
+	 * @return the export
+	 */
+	public Export exportAt(int index) {
+		if (columns != null) return columnExport(index);
+
+		Export export = exports[index];
+		if (export != null) return export;
+
+		synchronized (tableReader) {
+			if (exports[index] == null) {
+				tableReader.moveTo(exportOffsets[index]);
+				tableReader.ensureRemaining(128); // more-or-less, usually less
+				exports[index] = readExport(tableReader, index);
+			}
+			return exports[index];
+		}
+	}
+
+	/**
+	 * Get an import from the package's imports table.
+	 *
+	 * @param index index of the import
+	 * @return the import
+	 */
+	public Import importAt(int index) {
+		if (columns != null) return columnImport(index);
+
+		Import imp = imports[index];
+		if (imp != null) return imp;
+
+		synchronized (tableReader) {
+			if (imports[index] == null) {
+				tableReader.moveTo(importOffsets[index]);
+				tableReader.ensureRemaining(40); // more-or-less, usually less
+				imports[index] = readImport(tableReader, index);
+			}
+			return imports[index];
+		}
+	}
+
+	/**
+	 * Get an exported object from the package's exports table.
+	 *
+	 * @param index index of the export
+	 * @return the object, or null if the export at the index is not an object
+	 */
+	public ExportedObject objectAt(int index) {
+		ExportedObject object = objects[index];
+		if (object != null || fields[index] != null || tableMode == TableMode.EAGER) return object;
+
+		classify(index);
+		return objects[index];
+	}
+
+	/**
+	 * Get an exported field from the package's exports table.
+	 *
+	 * @param index index of the export
+	 * @return the field, or null if the export at the index is not a field
+	 */
+	public ExportedField fieldAt(int index) {
+		ExportedField field = fields[index];
+		if (field != null || objects[index] != null || tableMode == TableMode.EAGER) return field;
+
+		classify(index);
+		return fields[index];
+	}
+
 	/**
 	 * Find the imported packages which this package depends on.
 	 * <p>
@@ -307,11 +487,7 @@ public class Package implements Closeable {
 	 * @return packages
 	 */
 	public Collection<Import> packageImports() {
-		List<Import> packages = new ArrayList<>();
-		for (Import i : imports) {
-			if (i.packageIndex.index == 0) packages.add(i);
-		}
-		return packages;
+		return childImports(-1);
 	}
 
 	/**
@@ -323,11 +499,39 @@ public class Package implements Closeable {
 	 * @return groups, types and objects
 	 */
 	public Collection<Export> rootExports() {
-		List<Export> roots = new ArrayList<>();
-		for (Export e : exports) {
-			if (e.groupIndex.index == 0) roots.add(e);
-		}
-		return roots;
+		return childExports(-1);
+	}
+
+	/**
+	 * Get the exports within an exported group, as a read-only view ordered
+	 * by export index.
+	 * <p>
+	 * The parent/child relationships of all exports are worked out once,
+	 * when first needed, so walking the entire export tree is cheap.
+	 *
+	 * @param index index of the parent export, or -1 for exports which are
+	 *              not within any group
+	 * @return child exports
+	 */
+	public List<Export> childExports(int index) {
+		Hierarchy h = hierarchy();
+		return new IndexedList<>(h.exports, h.exportStarts[index + 1], h.exportStarts[index + 2], this::exportAt);
+	}
+
+	/**
+	 * Get the imports within an imported package or group, as a read-only
+	 * view ordered by import index.
+	 * <p>
+	 * The parent/child relationships of all imports are worked out once,
+	 * when first needed, so walking the entire import tree is cheap.
+	 *
+	 * @param index index of the parent import, or -1 for imports which are
+	 *              not within any package (ie. packages themselves)
+	 * @return child imports
+	 */
+	public List<Import> childImports(int index) {
+		Hierarchy h = hierarchy();
+		return new IndexedList<>(h.imports, h.importStarts[index + 1], h.importStarts[index + 2], this::importAt);
 	}
 
 	/**
@@ -337,14 +541,7 @@ public class Package implements Closeable {
 	 * @return matching exports
 	 */
 	public Collection<Export> exportsByClassName(String className) {
-		Set<Export> exports = new HashSet<>();
-		for (Export ex : this.exports) {
-			Named type = ex.classIndex.get();
-			if (type instanceof Import && ((Import)type).name.name.equals(className)) {
-				exports.add(ex);
-			}
-		}
-		return exports;
+		return new ArrayList<>(exportsOfClass(className));
 	}
 
 	/**
@@ -354,15 +551,51 @@ public class Package implements Closeable {
 	 * @return matching objects
 	 */
 	public Collection<ExportedObject> objectsByClassName(String className) {
-		Set<ExportedObject> exports = new HashSet<>();
-		for (ExportedObject ex : this.objects) {
-			if (ex == null) continue;
-			Named type = ex.classIndex.get();
-			if (type instanceof Import && ((Import)type).name.name.equals(className)) {
-				exports.add(ex);
-			}
-		}
-		return exports;
+		return new ArrayList<>(objectsOfClass(className));
+	}
+
+	/**
+	 * Get all exported elements by a known class name, as a read-only view
+	 * ordered by export index.
+	 * <p>
+	 * Unlike {@link #exportsByClassName(String)}, this does not copy the
+	 * matching exports into a new collection.
+	 *
+	 * @param className class to search for
+	 * @return matching exports
+	 */
+	public List<Export> exportsOfClass(String className) {
+		return new IndexedList<>(classIndex().exports.getOrDefault(className, NO_INDICES), this::exportAt);
+	}
+
+	/**
+	 * Get all exported elements of a specific imported class, as a read-only
+	 * view ordered by export index.
+	 *
+	 * @param classImport class to search for
+	 * @return matching exports
+	 */
+	public List<Export> exportsOfClass(Import classImport) {
+		return new IndexedList<>(classIndex().byImport[classImport.index()], this::exportAt);
+	}
+
+	/**
+	 * Get all exported objects by a known class name, as a read-only view
+	 * ordered by export index.
+	 * <p>
+	 * Unlike {@link #objectsByClassName(String)}, this does not copy the
+	 * matching objects into a new collection.
+	 *
+	 * @param className class to search for
+	 * @return matching objects
+	 */
+	public List<ExportedObject> objectsOfClass(String className) {
+		ClassIndex index = classIndex();
+		int[] objectIndices = index.objects.computeIfAbsent(className, c -> {
+			int[] exports = index.exports.getOrDefault(c, NO_INDICES);
+			return IntStream.of(exports).filter(i -> objectAt(i) != null).toArray();
+		});
+		return new IndexedList<>(objectIndices, this::objectAt);
 	}
 
 	/**
@@ -375,7 +608,7 @@ public class Package implements Closeable {
 		Named resolved = ref.get();
 		if (!(resolved instanceof Export)) throw new IllegalArgumentException("No exported object found for reference " + ref);
 
-		ExportedObject exportedObject = objects[((Export)resolved).index];
+		ExportedObject exportedObject = objectAt(((Export)resolved).index);
 
 		if (exportedObject == null) throw new IllegalArgumentException("Found export is not an object " + ref);
 
@@ -385,53 +618,137 @@ public class Package implements Closeable {
 	/**
 	 * Convenience to get an object by its name.
 	 *
-	 * @return found object
-	 * @throws IllegalArgumentException the object could not be found or does not exist
+	 * @return found object, or null if there's no object with the name
 	 */
 	public ExportedObject objectByName(Name name) {
-		for (ExportedObject object : objects) {
-			if (object == null) continue;
+		return objectByName(name.name);
+	}
 
-			if (object.name.name.equalsIgnoreCase(name.name)) return object;
+	/**
+	 * Convenience to get an object by its name, ignoring case.
+	 * <p>
+	 * Where several objects share the same name, the first is returned.
+	 *
+	 * @param name object name
+	 * @return found object, or null if there's no object with the name
+	 */
+	public ExportedObject objectByName(String name) {
+		NameIndex index = nameIndex();
+		int nameIndex = index.nameIndex(name);
+		if (nameIndex < 0) return null;
+
+		for (int i = index.exportStarts[nameIndex]; i < index.exportStarts[nameIndex + 1]; i++) {
+			ExportedObject object = objectAt(index.exports[i]);
+			if (object != null) return object;
 		}
 
 		return null;
 	}
 
 	/**
-	 * Convenience to get an object by its export representation.
+	 * Get all exports with the provided name, ignoring case, as a read-only
+	 * view ordered by export index.
 	 *
-	 * @return found object
-	 * @throws IllegalArgumentException the object could not be found or does not exist
+	 * @param name export name
+	 * @return matching exports
 	 */
-	public ExportedObject objectByExport(Export export) {
-		ExportedObject exportedObject = objects[export.index];
-		if (exportedObject == null) throw new IllegalArgumentException("Found export is not an object " + export);
-		return exportedObject;
+	public List<Export> exportsByName(String name) {
+		NameIndex index = nameIndex();
+		int nameIndex = index.nameIndex(name);
+		if (nameIndex < 0) return List.of();
+
+		return new IndexedList<>(index.exports, index.exportStarts[nameIndex], index.exportStarts[nameIndex + 1], this::exportAt);
 	}
 
-	// --- primary data table readers
+	/**
+	 * Check whether this package's names table contains a name, ignoring
+	 * case.
+	 * <p>
+	 * All imported and exported elements, as well as the names of
+	 * properties, classes and other types used within a package are present
+	 * in the names table, so this can be used to quickly rule out packages
+	 * which can't possibly contain something.
+	 *
+	 * @param name name to look for
+	 * @return true if the name is present
+	 */
+	public boolean containsName(String name) {
+		return nameIndex().nameIndex(name) >= 0;
+	}
 
 	/**
-	 * Read all names from the file.
+	 * Find the index of a name within this package's names table, ignoring
+	 * case.
 	 *
-	 * @param count number of names in the file
-	 * @param pos   position of first name within the file
-	 * @return array of names
+	 * @param name name to look for
+	 * @return index of the name, or -1 if it's not present
 	 */
-	private Name[] names(int count, int pos) {
-		Name[] names = new Name[count];
+	public int nameIndexOf(String name) {
+		return nameIndex().nameIndex(name);
+	}
 
-		reader.moveTo(pos);
+	/**
+	 * Find an export or import by its fully qualified path, ignoring case.
+	 * <p>
+	 * Exports are found by their path within this package, for example
+	 * <code>"Metal.Floor01"</code> for the <code>Floor01</code> export in
+	 * group <code>Metal</code>. The package's own name is not part of the
+	 * path, since a package file does not record its own name.
+	 * <p>
+	 * Imports are found by their path including the package they're
+	 * imported from, for example <code>"Engine.Texture"</code>.
+	 * <p>
+	 * Unreal Engine 3 names with a number are written with the number as a
+	 * suffix, for example <code>"StaticMeshActor_12"</code>.
+	 * <p>
+	 * Should an export and an import have the same path, the export is
+	 * returned.
+	 *
+	 * @param path dot-separated path
+	 * @return the export or import, or null if nothing has that path
+	 */
+	public Named resolvePath(String path) {
+		int ref = pathIndex().resolve(path);
+		if (ref > 0) return exportAt(ref - 1);
+		if (ref < 0) return importAt((-ref) - 1);
+		return null;
+	}
 
-		for (int i = 0; i < count; i++) {
-			reader.ensureRemaining(256); // more-or-less
-			names[i] = new Name(reader.readString(), 0, version >= 141 ? reader.readLong() : reader.readInt());
-		}
+	/**
+	 * Get the exports or imports within a group or package, by its fully
+	 * qualified path, ignoring case.
+	 * <p>
+	 * An empty path refers to the root of this package, so returns
+	 * {@link #rootExports()}.
+	 *
+	 * @param path dot-separated path
+	 * @return child exports or imports, ordered by index, or an empty list if
+	 * 	nothing has that path
+	 * @see #resolvePath(String)
+	 */
+	public List<? extends Named> childrenOfPath(String path) {
+		if (path.isEmpty()) return childExports(-1);
+
+		int ref = pathIndex().resolve(path);
+		if (ref > 0) return childExports(ref - 1);
+		if (ref < 0) return childImports((-ref) - 1);
+		return List.of();
+	}
 
-		return names;
+	/**
+	 * Convenience to get an object by its export representation.
+	 *
+	 * @return found object
+	 * @throws IllegalArgumentException the object could not be found or does not exist
+	 */
+	public ExportedObject objectByExport(Export export) {
+		ExportedObject exportedObject = objectAt(export.index);
+		if (exportedObject == null) throw new IllegalArgumentException("Found export is not an object " + export);
+		return exportedObject;
 	}
 
+	// --- primary data table readers
+
 	/**
 	 * Read all exports from the file.
 	 *
@@ -448,7 +765,7 @@ public class Package implements Closeable {
 
 		for (int i = 0; i < count; i++) {
 			reader.ensureRemaining(128); // more-or-less, usually less
-			exports[i] = readExport(i);
+			exports[i] = readExport(reader, i);
 		}
 
 		return exports;
@@ -470,131 +787,623 @@ public class Package implements Closeable {
 
 		for (int i = 0; i < count; i++) {
 			reader.ensureRemaining(40); // more-or-less, usually less
-			imports[i] = readImport(i);
+			imports[i] = readImport(reader, i);
 		}
 
 		return imports;
 	}
 
-	private ObjectReference objectReference(int index) {
-		if (index == 0) return ObjectReference.NULL;
-		else return objectReferences.computeIfAbsent(index, i -> new ObjectReference(this, i));
-	}
+	/**
+	 * Find the positions of all names in the file, without reading them.
+	 *
+	 * @param count number of names in the file
+	 * @param pos   position of the first name within the file
+	 * @return array of name positions
+	 */
+	private int[] nameOffsets(int count, int pos) {
+		int[] offsets = new int[count];
 
-	private Name name(int index) {
-		return names[index];
-	}
+		reader.moveTo(pos);
 
-	private Name name(NameNumber name) {
-		return new Name(names[name.name].name, name.number, names[name.name].flags);
+		for (int i = 0; i < count; i++) {
+			reader.ensureRemaining(256); // more-or-less
+			offsets[i] = reader.currentPosition();
+			reader.skipString();
+			if (version >= 141) reader.readLong();
+			else reader.readInt();
+		}
+
+		return offsets;
 	}
 
 	/**
-	 * Read a single export from the current buffer position.
+	 * Find the positions of all exports in the file, without reading them.
 	 *
-	 * @return a new export
+	 * @param count number of exports in the file
+	 * @param pos   position of the first export within the file
+	 * @return array of export positions
 	 */
-	private Export readExport(int index) {
-		ObjectReference classIndex = objectReference(reader.readIndex());
-		ObjectReference superClassIndex = objectReference(reader.readIndex());
-		ObjectReference groupIndex = objectReference(reader.readInt());
+	private int[] exportOffsets(int count, int pos) {
+		int[] offsets = new int[count];
 
-		Name name = name(reader.readNameIndex());
+		reader.moveTo(pos);
 
-		if (version >= 220) {
-			reader.readInt(); // skipping: archetype (ObjectReference)
+		for (int i = 0; i < count; i++) {
+			reader.ensureRemaining(128); // more-or-less, usually less
+			offsets[i] = reader.currentPosition();
+			skipExport(reader);
 		}
 
-		long flags = version >= 195 ? reader.readLong() : reader.readInt();
+		return offsets;
+	}
+
+	/**
+	 * Find the positions of all imports in the file, without reading them.
+	 *
+	 * @param count number of imports in the file
+	 * @param pos   position of the first import within the file
+	 * @return array of import positions
+	 */
+	private int[] importOffsets(int count, int pos) {
+		int[] offsets = new int[count];
 
-		// data (properties, etc) size and location
-		int size = reader.readIndex();
-		int pos = size > 0 || version >= 249
-			? reader.readIndex()
-			: 0;
+		reader.moveTo(pos);
 
-		// components
-		Map<Name, ObjectReference> components = Map.of();
-		if (version >= 220 && version < 543) {
-			int componentCount = reader.readInt();
-			components = new HashMap<>();
-			if (componentCount > 0) reader.ensureRemaining((componentCount * 12) + 28);
-			for (int i = 0; i < componentCount; i++) {
-				components.put(name(reader.readNameIndex()), objectReference(reader.readInt()));
-			}
+		for (int i = 0; i < count; i++) {
+			reader.ensureRemaining(40); // more-or-less, usually less
+			offsets[i] = reader.currentPosition();
+			skipNameIndex(reader); // classPackage
+			skipNameIndex(reader); // className
+			reader.readInt(); // packageIndex
+			skipNameIndex(reader); // name
 		}
 
-		if (version >= 220) {
-			reader.readInt(); // skipping: exportFlags
-		}
+		return offsets;
+	}
 
-		int netObjectCount = 0;
-		if (version >= 322) {
-			netObjectCount = reader.readInt();
+	private ClassIndex classIndex() {
+		ClassIndex index = classIndex;
+		if (index == null) {
+			synchronized (this) {
+				if (classIndex == null) classIndex = new ClassIndex();
+				index = classIndex;
+			}
 		}
+		return index;
+	}
 
-		if (version >= 220) {
-			reader.moveRelative(16); // skipping: guid
+	private NameIndex nameIndex() {
+		NameIndex index = nameIndex;
+		if (index == null) {
+			synchronized (this) {
+				if (nameIndex == null) nameIndex = new NameIndex();
+				index = nameIndex;
+			}
 		}
+		return index;
+	}
 
-		if (version >= 487) {
-			reader.readInt(); // skipping: packageFlags
+	private Hierarchy hierarchy() {
+		Hierarchy h = hierarchy;
+		if (h == null) {
+			synchronized (this) {
+				if (hierarchy == null) hierarchy = new Hierarchy();
+				h = hierarchy;
+			}
 		}
+		return h;
+	}
 
-		if (netObjectCount > 0) {
-			for (int i = 0; i < netObjectCount; i++) {
-				reader.readIndex(); // skipping: netObjects[] (ObjectReference)
+	private TypeIndex types() {
+		TypeIndex index = types;
+		if (index == null) {
+			synchronized (this) {
+				if (types == null) types = new TypeIndex();
+				index = types;
 			}
 		}
+		return index;
+	}
 
-		return new ExportedEntry(
-			this, index,
-			classIndex, superClassIndex, groupIndex,
-			name, flags, size, pos,
-			components
-		);
+	private PathIndex pathIndex() {
+		PathIndex index = pathIndex;
+		if (index == null) {
+			synchronized (this) {
+				if (pathIndex == null) pathIndex = new PathIndex();
+				index = pathIndex;
+			}
+		}
+		return index;
 	}
 
 	/**
-	 * Read a single import from the current buffer position.
-	 *
-	 * @return a new import
+	 * Get the group object reference of an export, without necessarily
+	 * reading the entire export.
 	 */
-	private Import readImport(int index) {
-		Name classPackage = name(reader.readNameIndex());
-		Name className = name(reader.readNameIndex());
-		ObjectReference packageIndex = objectReference(reader.readInt());
-		Name name = name(reader.readNameIndex());
+	private int exportGroupIndex(int index) {
+		if (columns != null) return columns.exportGroup[index];
 
-		return new Import(
-			this, index,
-			classPackage, className, packageIndex, name
-		);
+		Export export = exports[index];
+		if (export != null) return export.groupIndex.index;
+
+		synchronized (tableReader) {
+			tableReader.moveTo(exportOffsets[index]);
+			tableReader.readIndex(); // classIndex
+			tableReader.readIndex(); // superClassIndex
+			return tableReader.readInt();
+		}
 	}
 
 	/**
-	 * Create an Object for the provided export.
-	 * <p>
-	 * This implementation will read and populate the resulting object's
-	 * properties collection, and then return an object of an appropriate
-	 * type if possible.
-	 * <p>
-	 * The specific object implementation should expose methods to obtain
-	 * instances of the object data itself in appropriate formats.
-	 *
-	 * @param export the export to get an object for
-	 * @return a new object instance
+	 * Get the name number of an export, without necessarily reading the
+	 * entire export. Packages prior to Unreal Engine 3 have no name numbers,
+	 * in which case this is -1.
 	 */
-	public Object object(ExportedObject export) {
-		Object existing = loadedObjects.get(export.pos);
-		if (existing != null) return existing;
+	private int exportNameNumber(int index) {
+		if (version < 343) return -1;
 
+		if (columns != null) return TableColumns.number(columns.exportNameNumber, index);
+
+		Export export = exports[index];
+		if (export != null) return export.name.number;
+
+		synchronized (tableReader) {
+			tableReader.moveTo(exportOffsets[index]);
+			tableReader.readIndex(); // classIndex
+			tableReader.readIndex(); // superClassIndex
+			tableReader.readInt(); // groupIndex
+			tableReader.readIndex(); // name
+			return tableReader.readInt();
+		}
+	}
+
+	/**
+	 * Get the package object reference of an import, without necessarily
+	 * reading the entire import.
+	 */
+	private int importPackageIndex(int index) {
+		if (columns != null) return columns.importPackage[index];
+
+		Import imp = imports[index];
+		if (imp != null) return imp.packageIndex.index;
+
+		synchronized (tableReader) {
+			tableReader.moveTo(importOffsets[index]);
+			skipNameIndex(tableReader); // classPackage
+			skipNameIndex(tableReader); // className
+			return tableReader.readInt();
+		}
+	}
+
+	/**
+	 * Get the class object reference of an export, without necessarily
+	 * reading the entire export.
+	 */
+	private int exportClassIndex(int index) {
+		if (columns != null) return columns.exportClass[index];
+
+		Export export = exports[index];
+		if (export != null) return export.classIndex.index;
+
+		// class index is the first value of an export
+		synchronized (tableReader) {
+			tableReader.moveTo(exportOffsets[index]);
+			return tableReader.readIndex();
+		}
+	}
+
+	/**
+	 * Sort an export into either the objects or fields collections.
+	 */
+	private void classify(int index) {
+		synchronized (exports) {
+			if (objects[index] != null || fields[index] != null) return;
+
+			ExportedEntry e = (ExportedEntry)exportAt(index);
+			if (FieldTypes.isField(e.classIndex)) {
+				fields[index] = e.asField();
+			} else {
+				objects[index] = e.asObject();
+			}
+		}
+	}
+
+	ObjectReference objectReference(int index) {
+		if (index == 0) return ObjectReference.NULL;
+
+		ObjectReference[] refs = index > 0 ? exportReferences : importReferences;
+		int i = Math.abs(index) - 1;
+		// references to entries outside the tables are broken, but still represented
+		if (i >= refs.length) return new ObjectReference(this, index);
+
+		// references are immutable, so racing to create the same one is harmless
+		ObjectReference ref = refs[i];
+		if (ref == null) {
+			ref = new ObjectReference(this, index);
+			refs[i] = ref;
+		}
+		return ref;
+	}
+
+	/**
+	 * Read a name reference from the reader's current position.
+	 * <p>
+	 * Unlike {@link PackageReader#readNameIndex()}, for packages prior to
+	 * Unreal Engine 3, this does not allocate anything, and returns names
+	 * directly from the names table.
+	 */
+	private Name nameRef(PackageReader reader) {
+		int index = reader.readIndex();
+		if (version < 343) return nameAt(index);
+
+		return nameRef(nameAt(index), reader.readInt());
+	}
+
+	/**
+	 * Read a name reference from the reader's current position, returning
+	 * only the index of the name within the names table.
+	 */
+	private int nameRefIndex(PackageReader reader) {
+		int index = reader.readIndex();
+		if (version >= 343) reader.readInt(); // skipping: name number
+		return index;
+	}
+
+	/**
+	 * Get the name table entry <code>n</code> with a name number applied.
+	 * <p>
+	 * Most names have no number, in which case the table entry itself is
+	 * returned, rather than allocating another instance of it.
+	 */
+	private Name nameRef(Name n, int number) {
+		if (number == 0) return n;
+		return namePool != null ? namePool.intern(n.name, number, n.flags) : new Name(n.name, number, n.flags);
+	}
+
+	private Name name(NameNumber name) {
+		return nameRef(nameAt(name.name), name.number);
+	}
+
+	/**
+	 * Read a single name from the reader's current position.
+	 */
+	private Name readName(PackageReader reader) {
+		String name = reader.readString();
+		long flags = version >= 141 ? reader.readLong() : reader.readInt();
+		return namePool != null ? namePool.intern(name, 0, flags) : new Name(name, 0, flags);
+	}
+
+	/**
+	 * Create an export from the columnar exports table.
+	 */
+	private Export columnExport(int index) {
+		Map<Name, ObjectReference> components = Map.of();
+		int[] rawComponents = columns.exportComponents.get(index);
+		if (rawComponents != null) {
+			components = new HashMap<>();
+			for (int i = 0; i < rawComponents.length; i += 3) {
+				components.put(name(new NameNumber(rawComponents[i], rawComponents[i + 1])), objectReference(rawComponents[i + 2]));
+			}
+		}
+
+		return new ExportedEntry(
+			this, index,
+			objectReference(columns.exportClass[index]),
+			objectReference(columns.exportSuper[index]),
+			objectReference(columns.exportGroup[index]),
+			name(new NameNumber(columns.exportName[index], TableColumns.number(columns.exportNameNumber, index))),
+			columns.exportFlags[index], columns.exportSize[index], columns.exportPos[index],
+			components
+		);
+	}
+
+	/**
+	 * Create an import from the columnar imports table.
+	 */
+	private Import columnImport(int index) {
+		return new Import(
+			this, index,
+			name(new NameNumber(columns.importClassPackage[index], TableColumns.number(columns.importClassPackageNumber, index))),
+			name(new NameNumber(columns.importClassName[index], TableColumns.number(columns.importClassNameNumber, index))),
+			objectReference(columns.importPackage[index]),
+			name(new NameNumber(columns.importName[index], TableColumns.number(columns.importNameNumber, index)))
+		);
+	}
+
+	/**
+	 * Read a single export from the current buffer position.
+	 *
+	 * @return a new export
+	 */
+	private Export readExport(PackageReader reader, int index) {
+		ExportEntry entry = new ExportEntry(index);
+		ExportLayout.read(reader, version, entry);
+		return entry.export;
+	}
+
+	/**
+	 * Skip over a single export at the current buffer position, without
+	 * creating anything.
+	 */
+	private void skipExport(PackageReader reader) {
+		ExportLayout.read(reader, version, ExportLayout.SKIP);
+	}
+
+	/**
+	 * Creates an export from the values of an export table entry.
+	 */
+	private final class ExportEntry implements ExportLayout.Sink {
+
+		private final int index;
+		private Map<Name, ObjectReference> components = Map.of();
+		private Export export;
+
+		private ExportEntry(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public void components(int count) {
+			components = new HashMap<>();
+		}
+
+		@Override
+		public void component(int name, int nameNumber, int objectIndex) {
+			components.put(nameRef(nameAt(name), nameNumber), objectReference(objectIndex));
+		}
+
+		@Override
+		public void export(int classIndex, int superIndex, int groupIndex, int name, int nameNumber, long flags, int size, int pos) {
+			export = new ExportedEntry(
+				Package.this, index,
+				objectReference(classIndex), objectReference(superIndex), objectReference(groupIndex),
+				nameRef(nameAt(name), nameNumber), flags, size, pos,
+				components
+			);
+		}
+	}
+
+	private void skipNameIndex(PackageReader reader) {
+		reader.readIndex();
+		if (version >= 343) reader.readInt(); // number
+	}
+
+	/**
+	 * Read a single import from the current buffer position.
+	 *
+	 * @return a new import
+	 */
+	private Import readImport(PackageReader reader, int index) {
+		Name classPackage = name(reader.readNameIndex());
+		Name className = name(reader.readNameIndex());
+		ObjectReference packageIndex = objectReference(reader.readInt());
+		Name name = name(reader.readNameIndex());
+
+		return new Import(
+			this, index,
+			classPackage, className, packageIndex, name
+		);
+	}
+
+	/**
+	 * Create an Object for the provided export.
+	 * <p>
+	 * This implementation will read and populate the resulting object's
+	 * properties collection, and then return an object of an appropriate
+	 * type if possible.
+	 * <p>
+	 * The specific object implementation should expose methods to obtain
+	 * instances of the object data itself in appropriate formats.
+	 * <p>
+	 * Each object is read via its own {@link PackageReader#cursor()}, so
+	 * several objects may be loaded from the same package concurrently.
+	 * <p>
+	 * Objects are held in this package's {@link #objectCache()}, so may be
+	 * reused for subsequent requests for the same export.
+	 *
+	 * @param export the export to get an object for
+	 * @return an object instance
+	 */
+	public Object object(ExportedObject export) {
 		if (export.size <= 0) throw new IllegalStateException(String.format("Export %s has no associated object data!", export.name));
 
 		if (export.classIndex.index == 0) return null;
 
+		return objectCache.get(this, export, this::readObject);
+	}
+
+	/**
+	 * Set the cache used to hold objects once they have been read.
+	 * <p>
+	 * By default, each package has its own {@link ObjectCache#soft()} cache.
+	 * A single cache may be shared between several packages to limit the
+	 * memory used by objects across them all.
+	 * <p>
+	 * Objects already held by the previous cache are not carried over, and
+	 * are removed from it.
+	 *
+	 * @param objectCache object cache, for example {@link ObjectCache#none()}
+	 *                    to disable caching of objects
+	 */
+	public void setObjectCache(ObjectCache objectCache) {
+		if (objectCache == null) throw new IllegalArgumentException("Object cache may not be null, use ObjectCache.none()");
+		if (objectCache != this.objectCache) this.objectCache.invalidate(this);
+		this.objectCache = objectCache;
+	}
+
+	/**
+	 * Get the cache used to hold objects once they have been read.
+	 *
+	 * @return object cache
+	 */
+	public ObjectCache objectCache() {
+		return objectCache;
+	}
+
+	/**
+	 * Set whether the values of objects' properties should be read only when
+	 * they are first accessed.
+	 * <p>
+	 * When enabled, reading an object records only the tag of each of its
+	 * properties - its name, type, size and the position of its value - and
+	 * each property's value is read the first time the property is accessed.
+	 * The object's properties are held in a {@link LazyPropertyList}, which
+	 * allows {@link Object#property(String)} to find properties by their
+	 * names table index.
+	 * <p>
+	 * This is useful for actor-heavy maps, where many objects are read but
+	 * only a few of their property values are used. Objects already read
+	 * and held by the {@link #objectCache()} are not affected.
+	 *
+	 * @param lazyProperties true to read property values when first accessed
+	 */
+	public void setLazyProperties(boolean lazyProperties) {
+		this.lazyProperties = lazyProperties;
+	}
+
+	/**
+	 * Declare the element type of dynamic arrays with the provided property
+	 * name.
+	 * <p>
+	 * Unreal Engine 3 packages don't describe the types of dynamic array
+	 * elements within the arrays themselves, so without a declared type
+	 * arrays are read as {@link UnknownArrayProperty}, with only their
+	 * element counts. Arrays with a declared element type are read into
+	 * primitive-backed properties, such as {@link IntArrayProperty}.
+	 * <p>
+	 * Should an array's size not match the declared element type, it is
+	 * read as an unknown array. Arrays in packages prior to Unreal Engine 3
+	 * are not affected.
+	 *
+	 * @param propertyName name of array properties, case-insensitive
+	 * @param elementType  element type, one of {@link PropertyType#IntProperty},
+	 *                     {@link PropertyType#FloatProperty},
+	 *                     {@link PropertyType#NameProperty},
+	 *                     {@link PropertyType#ObjectProperty} or
+	 *                     {@link PropertyType#ByteProperty}, or null to
+	 *                     forget a previously declared type
+	 */
+	public void setArrayType(String propertyName, PropertyType elementType) {
+		if (elementType == null) {
+			arrayTypes.remove(NameIndex.fold(propertyName));
+			return;
+		}
+
+		switch (elementType) {
+			case IntProperty, FloatProperty, NameProperty, ObjectProperty, ByteProperty -> arrayTypes.put(NameIndex.fold(propertyName), elementType);
+			default -> throw new IllegalArgumentException("Arrays of type " + elementType.name() + " can not be read");
+		}
+	}
+
+	/**
+	 * Get the declared element type of dynamic arrays with the provided
+	 * property name.
+	 *
+	 * @param propertyName name of array properties, case-insensitive
+	 * @return element type, or null if not declared
+	 * @see #setArrayType(String, PropertyType)
+	 */
+	public PropertyType arrayType(String propertyName) {
+		return arrayTypes.isEmpty() ? null : arrayTypes.get(NameIndex.fold(propertyName));
+	}
+
+	/**
+	 * Get whether the values of objects' properties are read only when they
+	 * are first accessed.
+	 *
+	 * @return true if property values are read when first accessed
+	 * @see #setLazyProperties(boolean)
+	 */
+	public boolean lazyProperties() {
+		return lazyProperties;
+	}
+
+	/**
+	 * Read the properties of an object, without creating the object or its
+	 * properties.
+	 * <p>
+	 * This is considerably cheaper than reading properties via
+	 * {@link #object(ExportedObject)}, and is useful when inspecting
+	 * properties of many objects, such as when indexing.
+	 *
+	 * @param export  the export to read properties of
+	 * @param visitor visitor to receive properties as they're read
+	 */
+	public void readProperties(ExportedObject export, PropertyVisitor visitor) {
+		if (export.size <= 0) throw new IllegalStateException(String.format("Export %s has no associated object data!", export.name));
+
+		PackageReader reader = this.reader.cursor();
 		reader.moveTo(export.pos);
+		readObjectHeader(reader, export);
+		visitProperties(reader, visitor);
+	}
+
+	/**
+	 * Read only the named properties of an object.
+	 * <p>
+	 * The wanted names are resolved against the package's names table once,
+	 * and any properties not wanted are skipped over without being read,
+	 * making this much cheaper than reading all of an object's properties
+	 * when only a few are of interest.
+	 *
+	 * @param export the export to read properties of
+	 * @param wanted names of the properties to read, case-insensitive
+	 * @return the wanted properties present on the object, in the order they
+	 * 	were read
+	 */
+	public List<Property> properties(ExportedObject export, Set<String> wanted) {
+		PropertyCollector collector = new PropertyCollector(this);
+		readProperties(export, wanted, collector);
+		return collector.properties();
+	}
+
+	/**
+	 * Read only the named properties of an object, without creating the
+	 * object or its properties.
+	 *
+	 * @param export  the export to read properties of
+	 * @param wanted  names of the properties to read, case-insensitive
+	 * @param visitor visitor to receive the wanted properties as they're read
+	 * @see #properties(ExportedObject, Set)
+	 */
+	public void readProperties(ExportedObject export, Set<String> wanted, PropertyVisitor visitor) {
+		if (export.size <= 0) throw new IllegalStateException(String.format("Export %s has no associated object data!", export.name));
+
+		NameIndex index = nameIndex();
+		int[] names = wanted.stream().mapToInt(index::nameIndex).filter(i -> i >= 0).distinct().toArray();
 
+		// none of the wanted names appear in this package, so no object could have those properties
+		if (names.length == 0) return;
+
+		PackageReader reader = this.reader.cursor();
+		reader.moveTo(export.pos);
+		readObjectHeader(reader, export);
+		visitProperties(reader, visitor, names, null);
+	}
+
+	private Object readObject(ExportedObject export) {
+		PackageReader reader = this.reader.cursor();
+
+		reader.moveTo(export.pos);
+
+		ObjectHeader header = readObjectHeader(reader, export);
+
+		List<Property> properties = lazyProperties ? readLazyProperties(reader) : readProperties(reader);
+
+		// keep track of how long the properties were, so we can potentially continue reading object data from this point
+		int postPropsPosition = reader.currentPosition();
+
+		// objects are given the shared package reader, and open their own cursors to read further data as needed
+		return constructor(export.classIndex.index).newInstance(this, this.reader, export, header, properties, postPropsPosition);
+	}
+
+	/**
+	 * Read an object's header, leaving the reader positioned at the start
+	 * of its properties.
+	 *
+	 * @return the header, or null if the object has none
+	 */
+	private ObjectHeader readObjectHeader(PackageReader reader, Export export) {
 		ObjectHeader header = null;
 		if (export.flags().contains(ObjectFlag.HasStack)) {
 			int node = reader.readIndex();
@@ -608,58 +1417,521 @@ public class Package implements Closeable {
 			reader.readIndex(); // skipping: netIndex
 		}
 
-		List<Property> properties = readProperties();
+		return header;
+	}
 
-		// keep track of how long the properties were, so we can potentially continue reading object data from this point
-		int postPropsPosition = reader.currentPosition();
-		Object newObject = ObjectFactory.newInstance(this, reader, export, header, properties, postPropsPosition);
+	/**
+	 * Get the object constructor for the provided class reference.
+	 * <p>
+	 * Constructors for imported classes, the vast majority, are only looked
+	 * up once per class.
+	 */
+	private ObjectConstructor constructor(int classIndex) {
+		int i = (-classIndex) - 1;
+		if (classIndex >= 0 || i >= constructors.length) {
+			return ObjectFactory.constructorFor(objectReference(classIndex).get().name().name);
+		}
 
-		loadedObjects.put(export.pos, newObject);
+		// constructors are stateless, so racing to resolve the same one is harmless
+		ObjectConstructor constructor = constructors[i];
+		if (constructor == null) {
+			constructor = ObjectFactory.constructorFor(importAt(i).name.name);
+			constructors[i] = constructor;
+		}
+		return constructor;
+	}
 
-		return newObject;
+	private List<Property> readProperties(PackageReader reader) {
+		PropertyCollector collector = new PropertyCollector(this);
+		visitProperties(reader, collector);
+		return collector.properties();
 	}
 
-	private List<Property> readProperties() {
-		List<Property> properties = new ArrayList<>();
-		for (int i = 0; i < MAX_PROPERTIES; i++) {
-			Property p = readProperty();
+	/**
+	 * Read only the tags of properties from the reader's current position,
+	 * returning a list of properties which will be read as they're accessed.
+	 * <p>
+	 * Elements of static arrays are grouped into single properties the same
+	 * way {@link PropertyCollector} would group them.
+	 */
+	private List<Property> readLazyProperties(PackageReader reader) {
+		PropertyTags tags = new PropertyTags();
+		visitProperties(reader, null, null, tags);
+
+		// the first tag of each property, with an extra entry marking the end of the last property
+		int[] starts = new int[tags.count() + 1];
+		int count = 0;
+		for (int t = 0; t < tags.count(); t++) {
+			if (count == 0 || !arrayElement(tags, t, starts[count - 1])) starts[count++] = t;
+		}
+		starts[count] = tags.count();
+
+		Name[] names = new Name[count];
+		int[] nameIndices = new int[count];
+		for (int i = 0; i < count; i++) {
+			names[i] = tagName(tags, starts[i]);
+			nameIndices[i] = nameIndex().canonicalIndex(tags.name(starts[i]));
+		}
 
-			if (p.name.equals(Name.NONE)) break;
-			else {
-				if (p instanceof ArrayProperty.ArrayItem && !properties.isEmpty()) {
-					/*
-					  Array handling:
-					  We should magically know that if this property is part of an array, the previous
-					  property is either an array we need to add to, or the previous property is
-					  actually the first item of the array. In the second case, we need to replace
-					  it with a new array property.
-					 */
-					Property lastProperty = properties.getLast();
-					if (lastProperty instanceof ArrayProperty) {
-						properties.remove(lastProperty);
-						properties.add(((ArrayProperty)lastProperty).add((ArrayProperty.ArrayItem)p));
-					} else if (lastProperty.name.equals(p.name)) {
-						properties.remove(lastProperty);
-						properties.add(new ArrayProperty(((ArrayProperty.ArrayItem)p).property));
-					} else properties.add(((ArrayProperty.ArrayItem)p).property);
-				} else properties.add(p);
+		int[] propertyStarts = Arrays.copyOf(starts, count + 1);
+		return new LazyPropertyList(names, nameIndices, n -> nameIndex().nameIndex(n), i -> {
+			PropertyCollector collector = new PropertyCollector(this);
+			for (int t = propertyStarts[i]; t < propertyStarts[i + 1]; t++) {
+				int tag = t;
+				readValue(tags.position(tag), r -> {
+					visitValue(r, collector, tagName(tags, tag), tags.arrayIndex(tag), tags.type(tag), tags.structType(tag),
+							   tags.propertySize(tag), tags.flag(tag));
+					return null;
+				});
 			}
+			return collector.properties().getFirst();
+		});
+	}
+
+	/**
+	 * Read something from the provided position via the current thread's
+	 * value reader.
+	 * <p>
+	 * Lazily read property values are small, so rather than each read
+	 * opening a new cursor, each thread reuses its own cursor, and values
+	 * may be read by several threads at once. Values of an object's
+	 * properties are mostly near one another, so are mostly found within
+	 * the cursor's current buffer.
+	 */
+	private <T> T readValue(int position, Function<PackageReader, T> read) {
+		PackageReader valueReader = valueReaders.get();
+		valueReader.moveTo(position);
+		return read.apply(valueReader);
+	}
+
+	/**
+	 * Determine whether a property tag is a static array element which
+	 * {@link PropertyCollector} would combine with the preceding property,
+	 * which starts at the tag <code>start</code>.
+	 */
+	private boolean arrayElement(PropertyTags tags, int tag, int start) {
+		if (tags.arrayIndex(tag) < 0) return false;
+
+		// in Unreal Engine 3 packages, only dynamic arrays of unknown types are static array elements
+		if (version > 220 && (tags.type(tag) != PropertyType.ArrayProperty || referencedArray(tags, tag) || typedArray(tags, tag))) {
+			return false;
 		}
-		return properties;
+
+		// the preceding property is already an array
+		if (tag - start > 1) return true;
+		if (tags.type(start) == PropertyType.ArrayProperty && referencedArray(tags, start)) return true;
+
+		return nameAt(tags.name(start)).name.equals(nameAt(tags.name(tag)).name);
+	}
+
+	private boolean referencedArray(PropertyTags tags, int tag) {
+		return nameAt(tags.name(tag)).name.equalsIgnoreCase("ReferencedTextures");
+	}
+
+	private boolean typedArray(PropertyTags tags, int tag) {
+		if (version <= 220 || arrayType(nameAt(tags.name(tag)).name) == null) return false;
+
+		// the array's element count is the first value of the array
+		int count = readValue(tags.position(tag), PackageReader::readIndex);
+		return typedArray(nameAt(tags.name(tag)), count, tags.propertySize(tag)) != null;
+	}
+
+	private Name tagName(PropertyTags tags, int tag) {
+		Name name = nameAt(tags.name(tag));
+		return version < 343 ? name : nameRef(name, tags.number(tag));
 	}
 
 	/**
-	 * Utility method to read an individual object property.
+	 * Index of exports by their class.
+	 * <p>
+	 * Exports are grouped by the import index of their classes, and then by
+	 * class name, since a package may import several classes with the same
+	 * name from different packages. Exports with no class, or with classes
+	 * defined within the package itself, are not indexed.
+	 */
+	private class ClassIndex {
+
+		// export indices for each class import, ordered by export index
+		private final int[][] byImport;
+		// export indices by class name, ordered by export index
+		private final Map<String, int[]> exports;
+		// export indices of exports which are objects by class name, populated as needed
+		private final Map<String, int[]> objects;
+
+		private ClassIndex() {
+			int[] classes = new int[Package.this.exports.length];
+			int[] counts = new int[imports.length];
+			for (int i = 0; i < classes.length; i++) {
+				classes[i] = exportClassIndex(i);
+				if (classes[i] < 0) counts[(-classes[i]) - 1]++;
+			}
+
+			this.byImport = new int[imports.length][];
+			for (int i = 0; i < byImport.length; i++) {
+				byImport[i] = counts[i] == 0 ? NO_INDICES : new int[counts[i]];
+				counts[i] = 0;
+			}
+			for (int i = 0; i < classes.length; i++) {
+				if (classes[i] >= 0) continue;
+				int imp = (-classes[i]) - 1;
+				byImport[imp][counts[imp]++] = i;
+			}
+
+			this.exports = new HashMap<>();
+			for (int i = 0; i < byImport.length; i++) {
+				if (byImport[i].length == 0) continue;
+				exports.merge(importAt(i).name.name, byImport[i], (a, b) -> {
+					int[] merged = Arrays.copyOf(a, a.length + b.length);
+					System.arraycopy(b, 0, merged, a.length, b.length);
+					Arrays.sort(merged);
+					return merged;
+				});
+			}
+
+			this.objects = new ConcurrentHashMap<>();
+		}
+	}
+
+	/**
+	 * Parent/child adjacency of the export and import trees.
+	 * <p>
+	 * Children of export <code>n</code> are held in <code>exports</code>
+	 * between <code>exportStarts[n + 1]</code> and
+	 * <code>exportStarts[n + 2]</code>, with the root exports (those not
+	 * within a group) in the first slot. Imports are arranged the same way.
+	 */
+	private class Hierarchy {
+
+		private final int[] exportStarts;
+		private final int[] exports;
+		private final int[] importStarts;
+		private final int[] imports;
+
+		private Hierarchy() {
+			// exports may only be grouped within other exports
+			int exportCount = Package.this.exports.length;
+			int[] exportParents = new int[exportCount];
+			for (int i = 0; i < exportCount; i++) {
+				int group = exportGroupIndex(i);
+				exportParents[i] = group >= 0 && group <= exportCount ? group : -1;
+			}
+			this.exportStarts = new int[exportCount + 2];
+			this.exports = adjacency(exportParents, exportStarts);
+
+			// imports are normally within other imports, though UE3 may place them within exports, which we don't track here
+			int importCount = Package.this.imports.length;
+			int[] importParents = new int[importCount];
+			for (int i = 0; i < importCount; i++) {
+				int pkg = -importPackageIndex(i);
+				importParents[i] = pkg >= 0 && pkg <= importCount ? pkg : -1;
+			}
+			this.importStarts = new int[importCount + 2];
+			this.imports = adjacency(importParents, importStarts);
+		}
+
+		/**
+		 * Given each entry's parent slot (0 for roots, n + 1 for entry n, or
+		 * -1 for none), populate the slot starts, and return the children of
+		 * each slot ordered by index.
+		 */
+		private static int[] adjacency(int[] parents, int[] starts) {
+			for (int parent : parents) {
+				if (parent >= 0) starts[parent + 1]++;
+			}
+			for (int i = 1; i < starts.length; i++) {
+				starts[i] += starts[i - 1];
+			}
+
+			int[] children = new int[starts[starts.length - 1]];
+			int[] next = Arrays.copyOf(starts, starts.length - 1);
+			for (int i = 0; i < parents.length; i++) {
+				if (parents[i] >= 0) children[next[parents[i]]++] = i;
+			}
+			return children;
+		}
+	}
+
+	/**
+	 * Property and struct types named by each name in the names table.
+	 * <p>
+	 * Property tags refer to the types of their properties and structs by
+	 * name, so resolving each name's type once allows tags to be decoded
+	 * without creating names or comparing strings.
+	 * <p>
+	 * Only names actually used as types are resolved, the first time each
+	 * is looked up, so the names table is not decoded in its entirety. An
+	 * unresolved entry is null. Since resolving a name always produces the
+	 * same result, concurrent lookups may race to resolve a name harmlessly.
+	 */
+	private class TypeIndex {
+
+		// marks names which have been resolved, but are not property types
+		private static final java.lang.Object NOT_A_TYPE = new java.lang.Object();
+
+		private final java.lang.Object[] propertyTypes;
+		private final StructProperty.StructType[] structTypes;
+
+		private TypeIndex() {
+			this.propertyTypes = new java.lang.Object[Package.this.names.length];
+			this.structTypes = new StructProperty.StructType[Package.this.names.length];
+		}
+
+		/**
+		 * @return the property type named by the name at the provided index,
+		 * 	or null if the name is not a property type
+		 */
+		private PropertyType propertyType(int nameIndex) {
+			if (nameIndex < 0 || nameIndex >= propertyTypes.length) return null;
+
+			java.lang.Object type = propertyTypes[nameIndex];
+			if (type == null) {
+				PropertyType resolved = PropertyType.get(nameAt(nameIndex));
+				type = resolved != null ? resolved : NOT_A_TYPE;
+				propertyTypes[nameIndex] = type;
+			}
+			return type == NOT_A_TYPE ? null : (PropertyType)type;
+		}
+
+		/**
+		 * @return the struct type named by the name at the provided index,
+		 * 	{@link StructProperty.StructType#Unknown} if the name is not a
+		 * 	known struct type, or null if the index is not valid
+		 */
+		private StructProperty.StructType structType(int nameIndex) {
+			if (nameIndex < 0 || nameIndex >= structTypes.length) return null;
+
+			StructProperty.StructType type = structTypes[nameIndex];
+			if (type == null) {
+				type = StructProperty.StructType.get(nameAt(nameIndex));
+				structTypes[nameIndex] = type;
+			}
+			return type;
+		}
+	}
+
+	/**
+	 * Index of exports and imports by their full dot-separated paths.
+	 * <p>
+	 * Paths are case-insensitive, so are indexed by their lower-cased form,
+	 * and map to object reference values; positive for exports and negative
+	 * for imports. Numbered names are suffixed with their numbers, so objects
+	 * sharing a name entry have distinct paths.
+	 */
+	private class PathIndex {
+
+		private final Map<String, Integer> paths;
+
+		private PathIndex() {
+			Hierarchy h = hierarchy();
+			NameIndex n = nameIndex();
+
+			this.paths = HashMap.newHashMap(Package.this.exports.length + imports.length);
+
+			// walk each tree from its roots, so each path is built from its already-known parent path
+			String[] exportPaths = new String[Package.this.exports.length];
+			int[] pending = new int[Package.this.exports.length];
+			int top = push(pending, 0, h.exportStarts, h.exports, -1);
+			while (top > 0) {
+				int i = pending[--top];
+				int parent = exportGroupIndex(i) - 1;
+				String name = segment(nameAt(n.exportNameIndex(i)).name, exportNameNumber(i));
+				exportPaths[i] = parent < 0 ? name : exportPaths[parent] + "." + name;
+				paths.putIfAbsent(exportPaths[i], i + 1);
+				top = push(pending, top, h.exportStarts, h.exports, i);
+			}
+
+			String[] importPaths = new String[imports.length];
+			pending = new int[imports.length];
+			top = push(pending, 0, h.importStarts, h.imports, -1);
+			while (top > 0) {
+				int i = pending[--top];
+				int parent = (-importPackageIndex(i)) - 1;
+				Name importName = importAt(i).name;
+				String name = segment(importName.name, importName.number);
+				importPaths[i] = parent < 0 ? name : importPaths[parent] + "." + name;
+				paths.putIfAbsent(importPaths[i], -(i + 1));
+				top = push(pending, top, h.importStarts, h.imports, i);
+			}
+		}
+
+		private int resolve(String path) {
+			Integer ref = paths.get(NameIndex.fold(path));
+			return ref == null ? 0 : ref;
+		}
+
+		/**
+		 * A single path segment for a name. Unreal Engine 3 stores name
+		 * numbers offset by one, with 0 meaning the name has no number.
+		 */
+		private static String segment(String name, int number) {
+			String segment = number > 0 ? name + "_" + (number - 1) : name;
+			return NameIndex.fold(segment);
+		}
+
+		/**
+		 * Push the children of <code>parent</code> onto the pending stack,
+		 * returning the new top of the stack.
+		 */
+		private static int push(int[] pending, int top, int[] starts, int[] children, int parent) {
+			int from = starts[parent + 1];
+			int to = starts[parent + 2];
+			System.arraycopy(children, from, pending, top, to - from);
+			return top + (to - from);
+		}
+	}
+
+	/**
+	 * Index of names within the names table, and of exports by name.
+	 * <p>
+	 * Names are case-insensitive, so are indexed by their lower-cased form.
+	 * Exports are grouped by the index of their names, with the exports for
+	 * name <code>n</code> held in <code>exports</code> between
+	 * <code>exportStarts[n]</code> and <code>exportStarts[n + 1]</code>.
+	 */
+	private class NameIndex {
+
+		private final Map<String, Integer> names;
+		private final int[] canonical;
+		private final int[] exportStarts;
+		private final int[] exports;
+
+		private NameIndex() {
+			this.names = HashMap.newHashMap(Package.this.names.length);
+			this.canonical = new int[Package.this.names.length];
+			for (int i = 0; i < Package.this.names.length; i++) {
+				// should names be duplicated with different case, the first one wins
+				String folded = fold(nameAt(i).name);
+				names.putIfAbsent(folded, i);
+				canonical[i] = names.get(folded);
+			}
+
+			int[] exportNames = new int[Package.this.exports.length];
+			this.exportStarts = new int[Package.this.names.length + 1];
+			for (int i = 0; i < exportNames.length; i++) {
+				exportNames[i] = exportNameIndex(i);
+				exportStarts[exportNames[i] + 1]++;
+			}
+			for (int i = 1; i < exportStarts.length; i++) {
+				exportStarts[i] += exportStarts[i - 1];
+			}
+
+			this.exports = new int[exportNames.length];
+			int[] next = Arrays.copyOf(exportStarts, exportStarts.length - 1);
+			for (int i = 0; i < exportNames.length; i++) {
+				exports[next[exportNames[i]]++] = i;
+			}
+		}
+
+		private int nameIndex(String name) {
+			Integer index = names.get(fold(name));
+			return index == null ? -1 : index;
+		}
+
+		/**
+		 * Get the index of the first name in the names table which matches
+		 * the name at the provided index, ignoring case.
+		 */
+		private int canonicalIndex(int index) {
+			return canonical[index];
+		}
+
+		/**
+		 * Get the name table index of an export's name, without necessarily
+		 * reading the entire export.
+		 */
+		private int exportNameIndex(int index) {
+			if (columns != null) return nameIndex(nameAt(columns.exportName[index]).name);
+
+			Export export = Package.this.exports[index];
+			if (export != null) return nameIndex(export.name.name);
+
+			int rawIndex;
+			synchronized (tableReader) {
+				tableReader.moveTo(exportOffsets[index]);
+				tableReader.readIndex(); // classIndex
+				tableReader.readIndex(); // superClassIndex
+				tableReader.readInt(); // groupIndex
+				rawIndex = tableReader.readIndex();
+			}
+			// may differ from the raw index, if the name is duplicated with different case
+			return nameIndex(nameAt(rawIndex).name);
+		}
+
+		private static String fold(String name) {
+			return name.toLowerCase(Locale.ROOT);
+		}
+	}
+
+	/**
+	 * Read properties from the reader's current position until the "None"
+	 * property is found, passing each to the visitor.
+	 */
+	private void visitProperties(PackageReader reader, PropertyVisitor visitor) {
+		visitProperties(reader, visitor, null, null);
+	}
+
+	/**
+	 * Read properties from the reader's current position, passing only those
+	 * with the wanted names to the visitor.
+	 * <p>
+	 * Property names are compared by their names table indices, and the
+	 * bodies of unwanted properties are skipped over without being read.
+	 * Reading stops once all the wanted properties have been found.
 	 *
-	 * @return property of the appropriate type
+	 * @param visitor visitor to receive properties, or null to skip all
+	 *                properties
+	 * @param wanted  canonical names table indices of wanted properties, or
+	 *                null to read all properties
+	 * @param tags    if not null, the tags of all properties are recorded
 	 */
-	private Property readProperty() {
-		Name name = name(reader.readNameIndex());
+	private void visitProperties(PackageReader reader, PropertyVisitor visitor, int[] wanted, PropertyTags tags) {
+		boolean[] found = wanted != null ? new boolean[wanted.length] : null;
+		int remaining = wanted != null ? wanted.length : -1;
+
+		for (int i = 0; i < MAX_PROPERTIES; i++) {
+			int nameIndex = reader.readIndex();
+			int number = version >= 343 ? reader.readInt() : 0;
+			Name tag = nameAt(nameIndex);
+
+			// the end - don't read or process anything beyond here
+			if (tag.equals(Name.NONE)) break;
+
+			int match = -1;
+			if (wanted != null) {
+				int canonical = nameIndex().canonicalIndex(nameIndex);
+				for (int w = 0; w < wanted.length && match < 0; w++) {
+					if (wanted[w] == canonical) match = w;
+				}
+
+				// static array elements follow one another, so once past the last wanted property we're done
+				if (match < 0 && remaining == 0) break;
 
-		// the end - don't read or process anything beyond here
-		if (name.equals(Name.NONE)) return new NameProperty(this, name, name);
+				if (match >= 0 && !found[match]) {
+					found[match] = true;
+					remaining--;
+				}
+			}
 
-		if (version > 220) return readPropertyUE3(name);
+			visitProperty(reader, match < 0 && wanted != null ? null : visitor, nameIndex, number, tags);
+		}
+	}
+
+	/**
+	 * Read an individual property, passing it to the visitor.
+	 *
+	 * @param visitor   visitor to receive the property, or null to skip the
+	 *                  property's value rather than read it
+	 * @param nameIndex names table index of the property's name, already read
+	 * @param number    number of the property's name, already read
+	 * @param tags      if not null, the property's tag is recorded
+	 */
+	private void visitProperty(PackageReader reader, PropertyVisitor visitor, int nameIndex, int number, PropertyTags tags) {
+		Name name = visitor == null || version < 343 ? nameAt(nameIndex) : nameRef(nameAt(nameIndex), number);
+
+		if (version > 220) {
+			visitPropertyUE3(reader, visitor, nameIndex, number, name, tags);
+			return;
+		}
 
 		byte propInfo = reader.readByte();
 
@@ -677,7 +1949,7 @@ public class Package implements Closeable {
 		StructProperty.StructType structType = null;
 		if (propType == PropertyType.StructProperty) {
 			int structIdx = reader.readIndex();
-			structType = structIdx >= 0 ? StructProperty.StructType.get(name(structIdx)) : null;
+			structType = types().structType(structIdx);
 			if (structType == null) {
 				throw new IllegalStateException(String.format("Unknown struct type index %d for property %s", structIdx, name.name));
 			}
@@ -691,31 +1963,30 @@ public class Package implements Closeable {
 			default -> throw new IllegalArgumentException(String.format("Unknown property field size %d", size));
 		};
 
-		// if array and not boolean, next byte is index of property within the array (??)
-		int arrayIndex = 0;
-		if (boolOrArrayFlag && propType != PropertyType.BoolProperty) {
-			arrayIndex = reader.readByte();
-		}
-
-		Property property = createProperty(name, propType, structType, size, boolOrArrayFlag);
-
 		/*
 		   special case for array handling. array elements are just normal properties
 		   with the arrayFlag set and an array index.
 		 */
+		int arrayIndex = -1;
 		if (boolOrArrayFlag && propType != PropertyType.BoolProperty) {
-			return new ArrayProperty.ArrayItem(property, arrayIndex);
+			arrayIndex = reader.readByte();
 		}
 
-		return property;
+		if (tags != null) {
+			tags.add(nameIndex, number, propType, structType, size, arrayIndex, boolOrArrayFlag, reader.currentPosition());
+		}
+
+		if (visitor == null) reader.moveRelative(size);
+		else visitValue(reader, visitor, name, arrayIndex, propType, structType, size, boolOrArrayFlag);
 	}
 
-	private Property readPropertyUE3(Name name) {
-		Name typeName = name(reader.readNameIndex());
-		PropertyType propType = PropertyType.get(typeName);
+	private void visitPropertyUE3(PackageReader reader, PropertyVisitor visitor, int nameIndex, int number, Name name,
+								  PropertyTags tags) {
+		int typeIndex = nameRefIndex(reader);
+		PropertyType propType = types().propertyType(typeIndex);
 
 		if (propType == null) {
-			throw new IllegalStateException(String.format("Unknown property type named %s for property %s", typeName.name, name.name));
+			throw new IllegalStateException(String.format("Unknown property type name index %d for property %s", typeIndex, name.name));
 		}
 
 		if (propType == PropertyType.ByteProperty) propType = PropertyType.EnumProperty;
@@ -724,94 +1995,151 @@ public class Package implements Closeable {
 		int arrayIndex = reader.readInt();
 
 		StructProperty.StructType structType = propType == PropertyType.StructProperty
-			? StructProperty.StructType.get(name(reader.readNameIndex()))
+			? types().structType(nameRefIndex(reader))
 			: null;
 
 		boolean booleanFlag = propType == PropertyType.BoolProperty && reader.readInt() > 0;
 
-		Property property = createProperty(name, propType, structType, size, booleanFlag);
-
-		/*
-		   special case for array handling. array elements are just normal properties
-		   with the arrayFlag set and an array index.
-		 */
-		if (propType == PropertyType.ArrayProperty && !(property instanceof ArrayProperty)) {
-			return new ArrayProperty.ArrayItem(property, arrayIndex);
+		if (tags != null) {
+			tags.add(nameIndex, number, propType, structType, size, arrayIndex, booleanFlag, reader.currentPosition());
 		}
 
-		return property;
+		if (visitor == null) reader.moveRelative(size);
+		else visitValue(reader, visitor, name, arrayIndex, propType, structType, size, booleanFlag);
 	}
 
 	/**
-	 * Utilities all the way down, this creates a typed property instance
-	 * based on the provided property type.
-	 *
-	 * @param name       property name
-	 * @param type       type of property
-	 * @param structType if a struct property, the struct type
-	 * @param size       the byte length of the property
-	 * @param arrayFlag  the final bit of the property header, sometimes used to infer things
-	 * @return a new property
+	 * Read a property's value, passing it to the appropriate visitor
+	 * callback.
 	 */
-	private Property createProperty(Name name, PropertyType type, StructProperty.StructType structType, int size, boolean arrayFlag) {
+	private void visitValue(PackageReader reader, PropertyVisitor visitor, Name name, int arrayIndex, PropertyType type,
+							StructProperty.StructType structType, int size, boolean arrayFlag) {
 
-		int startPos = reader.position();
+		// reading a value may refill the reader's buffer, so track the end of the value as an absolute position
+		int endPos = reader.currentPosition() + size;
 
 		try {
-			return switch (type) {
-				case BoolProperty -> new BooleanProperty(this, name, arrayFlag);
-				case ByteProperty -> new ByteProperty(this, name, reader.readByte());
-				case EnumProperty -> new EnumProperty(this, name, name(reader.readNameIndex()));
-				case IntProperty -> new IntegerProperty(this, name, reader.readInt());
-				case FloatProperty -> new FloatProperty(this, name, reader.readFloat());
-				case StrProperty, StringProperty -> new StringProperty(this, name, reader.readString(size));
-				case NameProperty -> new NameProperty(this, name, name.equals(Name.NONE) ? Name.NONE : name(reader.readNameIndex()));
-				case ObjectProperty -> new ObjectProperty(this, name, objectReference(reader.readIndex()));
-				case StructProperty -> switch (structType) {
-					case PointRegion -> new StructProperty.PointRegionProperty(this, name, objectReference(reader.readIndex()),
-																			   reader.readInt(), reader.readByte());
-					case Scale -> new StructProperty.ScaleProperty(this, name, reader.readFloat(), reader.readFloat(), reader.readFloat(),
-																   reader.readFloat(), reader.readByte());
-					case Rotator -> new StructProperty.RotatorProperty(this, name, reader.readInt(), reader.readInt(), reader.readInt());
-					case Color -> new StructProperty.ColorProperty(this, name, reader.readByte(), reader.readByte(), reader.readByte(),
-																   reader.readByte());
-					case Sphere -> new StructProperty.SphereProperty(this, name, reader.readFloat(), reader.readFloat(), reader.readFloat(),
-																	 reader.readFloat());
-					default -> {
-						// unknown struct, but perhaps we can assume it to be a vector at least
-						if (size == 12) {
-							yield new StructProperty.VectorProperty(this, name, reader.readFloat(), reader.readFloat(),
-																	reader.readFloat());
+			switch (type) {
+				case BoolProperty -> visitor.onBoolean(name, arrayIndex, arrayFlag);
+				case ByteProperty -> visitor.onByte(name, arrayIndex, reader.readByte());
+				case EnumProperty -> visitor.onEnum(name, arrayIndex, nameRef(reader));
+				case IntProperty -> visitor.onInt(name, arrayIndex, reader.readInt());
+				case FloatProperty -> visitor.onFloat(name, arrayIndex, reader.readFloat());
+				case StrProperty, StringProperty -> visitor.onString(name, arrayIndex, reader.readString(size));
+				case NameProperty -> visitor.onName(name, arrayIndex, nameRef(reader));
+				case ObjectProperty -> visitor.onObjectRef(name, arrayIndex, reader.readIndex());
+				case StructProperty -> {
+					switch (structType) {
+						case PointRegion -> visitor.onPointRegion(name, arrayIndex, reader.readIndex(), reader.readInt(), reader.readByte());
+						case Scale -> visitor.onScale(name, arrayIndex, reader.readFloat(), reader.readFloat(), reader.readFloat(),
+													  reader.readFloat(), reader.readByte());
+						case Rotator -> visitor.onRotator(name, arrayIndex, reader.readInt(), reader.readInt(), reader.readInt());
+						case Color -> visitor.onColor(name, arrayIndex, reader.readByte(), reader.readByte(), reader.readByte(),
+													  reader.readByte());
+						case Sphere -> visitor.onSphere(name, arrayIndex, reader.readFloat(), reader.readFloat(), reader.readFloat(),
+														reader.readFloat());
+						default -> {
+							// unknown struct, but perhaps we can assume it to be a vector at least
+							if (size == 12) visitor.onVector(name, arrayIndex, reader.readFloat(), reader.readFloat(), reader.readFloat());
+							else visitor.onUnknownStruct(name, arrayIndex, structType, size);
 						}
-						yield new StructProperty.UnknownStructProperty(this, name);
 					}
-				};
-				case RotatorProperty ->
-					new StructProperty.RotatorProperty(this, name, reader.readInt(), reader.readInt(), reader.readInt());
-				case VectorProperty ->
-					new StructProperty.VectorProperty(this, name, reader.readFloat(), reader.readFloat(), reader.readFloat());
+				}
+				case RotatorProperty -> visitor.onRotator(name, arrayIndex, reader.readInt(), reader.readInt(), reader.readInt());
+				case VectorProperty -> visitor.onVector(name, arrayIndex, reader.readFloat(), reader.readFloat(), reader.readFloat());
 				case ArrayProperty -> {
 					int arraySize = reader.readIndex();
-					if (name.name.equalsIgnoreCase("ReferencedTextures")) {
-						List<ObjectProperty> items = IntStream.range(0, arraySize)
-															  .mapToObj(i -> new ObjectProperty(
-																  this, name, objectReference(reader.readIndex())
-															  ))
-															  .collect(Collectors.toList());
-						yield new ArrayProperty(this, name, items);
+					PropertyType elementType = typedArray(name, arraySize, size);
+					if (elementType != null) {
+						visitTypedArray(reader, visitor, name, arrayIndex, elementType, arraySize);
+						return;
 					}
-					yield new UnknownArrayProperty(this, name, arraySize);
+
+					boolean elements = name.name.equalsIgnoreCase("ReferencedTextures");
+					visitor.onArrayStart(name, arrayIndex, arraySize, elements);
+					if (elements) {
+						for (int i = 0; i < arraySize; i++) {
+							visitor.onObjectRef(name, i, reader.readIndex());
+						}
+					}
+					visitor.onArrayEnd(name, arrayIndex);
 				}
-				case FixedArrayProperty -> new FixedArrayProperty(this, name, objectReference(reader.readIndex()), reader.readIndex());
+				case FixedArrayProperty -> visitor.onFixedArray(name, arrayIndex, reader.readIndex(), reader.readIndex());
 				default -> throw new IllegalArgumentException("Cannot read unsupported property type " + type.name());
-			};
+			}
 		} finally {
 			// if we didn't read all the property's bytes somehow, fast-forward to the end of the property...
 			// FIXME PointRegionProperty in version >= 126 specifically seems larger than specs indicate; 7 extra bytes
-			if (reader.position() - startPos < size) {
-				reader.moveRelative(size - (reader.position() - startPos));
-			}
+			int pos = reader.currentPosition();
+			if (pos < endPos) reader.moveRelative(endPos - pos);
 		}
 	}
 
+	/**
+	 * Get the element type of a dynamic array, if its type is known and it
+	 * can be read as a primitive array.
+	 *
+	 * @param name  array property name
+	 * @param count number of elements in the array
+	 * @param size  size of the array property, including its element count
+	 * @return element type, or null if the array can't be read as a
+	 * 	primitive array
+	 */
+	private PropertyType typedArray(Name name, int count, int size) {
+		if (version <= 220 || count < 0) return null;
+
+		PropertyType elementType = arrayType(name.name);
+		if (elementType == null) return null;
+
+		// if the array's elements don't fit within the property, the declared element type can't be correct
+		return size == Integer.BYTES + (count * arrayElementSize(elementType)) ? elementType : null;
+	}
+
+	private int arrayElementSize(PropertyType elementType) {
+		return switch (elementType) {
+			case ByteProperty -> 1;
+			case NameProperty -> version >= 343 ? 8 : 4;
+			default -> 4;
+		};
+	}
+
+	private void visitTypedArray(PackageReader reader, PropertyVisitor visitor, Name name, int arrayIndex, PropertyType elementType,
+								 int count) {
+		// arrays may be larger than the reader's buffer, so elements are read in batches which fit within it
+		int elementSize = arrayElementSize(elementType);
+		int batch = ARRAY_READ_BATCH / elementSize;
+
+		switch (elementType) {
+			case IntProperty, ObjectProperty -> {
+				int[] values = new int[count];
+				for (int i = 0; i < count; i++) {
+					if (i % batch == 0) reader.ensureRemaining(Math.min(count - i, batch) * elementSize);
+					values[i] = reader.readInt();
+				}
+				visitor.onIntArray(name, arrayIndex, elementType, values);
+			}
+			case FloatProperty -> {
+				float[] values = new float[count];
+				for (int i = 0; i < count; i++) {
+					if (i % batch == 0) reader.ensureRemaining(Math.min(count - i, batch) * elementSize);
+					values[i] = reader.readFloat();
+				}
+				visitor.onFloatArray(name, arrayIndex, values);
+			}
+			case ByteProperty -> {
+				byte[] values = new byte[count];
+				reader.readBytes(values, 0, count);
+				visitor.onByteArray(name, arrayIndex, values);
+			}
+			case NameProperty -> {
+				Name[] values = new Name[count];
+				for (int i = 0; i < count; i++) {
+					if (i % batch == 0) reader.ensureRemaining(Math.min(count - i, batch) * elementSize);
+					values[i] = nameRef(reader);
+				}
+				visitor.onNameArray(name, arrayIndex, values);
+			}
+			default -> throw new IllegalArgumentException("Cannot read arrays of type " + elementType.name());
+		}
+	}
 }
@@ -8,16 +8,26 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Supplier;
 
+import net.shrimpworks.unreal.packages.compression.ChunkCache;
 import net.shrimpworks.unreal.packages.compression.ChunkChannel;
 import net.shrimpworks.unreal.packages.compression.CompressedChunk;
 import net.shrimpworks.unreal.packages.entities.NameNumber;
@@ -28,6 +38,11 @@ import net.shrimpworks.unreal.packages.entities.NameNumber;
  * <p>
  * Manages the buffers and navigation and read operations within package files
  * required for parsing a package's contents.
+ * <p>
+ * A reader instance is not safe for use by multiple threads, since navigation
+ * and read operations mutate its read position. Use {@link #cursor()} to
+ * obtain additional independent readers over the same package, which may be
+ * used concurrently.
  */
 public class PackageReader implements Closeable {
 
@@ -38,15 +53,36 @@ public class PackageReader implements Closeable {
 	public final ReaderStats stats = new ReaderStats();
 
 	private final SeekableByteChannel pgkChannel;
-	private final ByteBuffer buffer;
+	private final ByteBuffer mapped;
+	// memory-mapped decompressed content of a compressed package, from the disk cache
+	private ByteBuffer uncompressed;
+	private Path diskCache;
+	private final boolean cursor;
+
+	private ByteBuffer readBuffer;
+	private ByteBuffer buffer;
 
 	private SeekableByteChannel channel;
+	// read position within the current channel, which corresponds to the end of data read into the buffer
+	private long channelPos;
 
 	protected int version = 0;
 	protected CompressedChunk[] chunks = null;
 
-	private final boolean cacheChunks;
-	private final Map<CompressedChunk, ChunkChannel> chunkCache = new HashMap<>();
+	// the package file, if known, and its identity within shared chunk caches and the disk cache, found when first needed
+	private Path packageFile;
+	private volatile FileIdentity fileIdentity;
+	private ChunkCache chunkCache;
+	// true if the chunk cache may be shared with readers of other channels
+	private boolean sharedChunkCache;
+	// chunks explicitly decompressed up-front, retained regardless of caching
+	private final Map<CompressedChunk, ChunkChannel> inflatedChunks;
+
+	private Executor decompressionExecutor;
+
+	private Prefetch prefetch;
+	// index of the chunk most recently moved into, used to detect sequential reads for prefetching
+	private int lastChunk = -1;
 
 	/**
 	 * Creates a new package reader for an Unreal package, represented by the
@@ -57,18 +93,68 @@ public class PackageReader implements Closeable {
 	 *                    will be kept in memory for reuse, rather than
 	 *                    discarded for potential garbage collection after
 	 *                    moving to another chunk. this increases memory
-	 *                    overhead but may improve read performance.
+	 *                    overhead but may improve read performance. see
+	 *                    {@link #setChunkCache(ChunkCache)} to use a cache
+	 *                    with limited size, or to share a cache with other
+	 *                    readers.
 	 */
 	public PackageReader(SeekableByteChannel pkgChannel, boolean cacheChunks) {
 		this.pgkChannel = pkgChannel;
 		this.channel = pkgChannel;
 
-		this.cacheChunks = cacheChunks;
-		this.buffer = ByteBuffer.allocateDirect(READ_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+		this.cursor = false;
+
+		this.chunkCache = cacheChunks ? ChunkCache.unbounded() : null;
+		this.inflatedChunks = new ConcurrentHashMap<>();
+		this.mapped = null;
+		this.buffer = readBuffer();
+	}
+
+	/**
+	 * Creates a new package reader for an Unreal package, represented by the
+	 * provided {@link FileChannel}.
+	 * <p>
+	 * In mapped mode, the entire package file is memory-mapped, and reads
+	 * and movement within the file become simple offsets into the mapped
+	 * buffer, rather than refilling a small read buffer from the channel.
+	 * Decompressed chunks of compressed packages are still read via a normal
+	 * read buffer.
+	 *
+	 * @param pkgChannel  unreal package bytes
+	 * @param cacheChunks if true, decompressed chunks from compressed packages
+	 *                    will be kept in memory for reuse
+	 * @param mapped      if true, memory-map the package file
+	 * @throws IOException              failed to map the file
+	 * @throws IllegalArgumentException mapped mode was requested, but the
+	 *                                  file is too large to be mapped
+	 */
+	public PackageReader(FileChannel pkgChannel, boolean cacheChunks, boolean mapped) throws IOException {
+		this.pgkChannel = pkgChannel;
+		this.channel = pkgChannel;
+		this.cursor = false;
+
+		this.chunkCache = cacheChunks ? ChunkCache.unbounded() : null;
+		this.inflatedChunks = new ConcurrentHashMap<>();
+		if (mapped) {
+			if (pkgChannel.size() > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Package is too large to be mapped: " + pkgChannel.size() + " bytes");
+			}
+			this.mapped = pkgChannel.map(FileChannel.MapMode.READ_ONLY, 0, pkgChannel.size()).order(ByteOrder.LITTLE_ENDIAN);
+			this.buffer = this.mapped;
+		} else {
+			this.mapped = null;
+			this.buffer = readBuffer();
+		}
 	}
 
 	public PackageReader(Path packageFile, boolean cacheChunks) throws IOException {
 		this(FileChannel.open(packageFile, StandardOpenOption.READ), cacheChunks);
+		this.packageFile = packageFile;
+	}
+
+	public PackageReader(Path packageFile, boolean cacheChunks, boolean mapped) throws IOException {
+		this(FileChannel.open(packageFile, StandardOpenOption.READ), cacheChunks, mapped);
+		this.packageFile = packageFile;
 	}
 
 	public PackageReader(SeekableByteChannel pkgChannel) {
@@ -76,12 +162,62 @@ public class PackageReader implements Closeable {
 	}
 
 	public PackageReader(Path packageFile) throws IOException {
-		this(FileChannel.open(packageFile, StandardOpenOption.READ), false);
+		this(packageFile, false);
+	}
+
+	/**
+	 * Creates a cursor over the same package as the provided reader.
+	 */
+	private PackageReader(PackageReader parent) {
+		this.pgkChannel = parent.pgkChannel;
+		this.channel = parent.pgkChannel;
+		this.cursor = true;
+
+		this.version = parent.version;
+		this.chunks = parent.chunks;
+		this.stats.chunkCount = parent.stats.chunkCount;
+
+		this.packageFile = parent.packageFile;
+		this.fileIdentity = parent.fileIdentity;
+		this.chunkCache = parent.chunkCache;
+		this.sharedChunkCache = parent.sharedChunkCache;
+		this.inflatedChunks = parent.inflatedChunks;
+		this.decompressionExecutor = parent.decompressionExecutor;
+		this.prefetch = parent.prefetch;
+		if (parent.uncompressed != null) this.uncompressed = parent.uncompressed.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		if (parent.mapped != null) {
+			this.mapped = parent.mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+			this.buffer = this.mapped;
+		} else {
+			this.mapped = null;
+			this.buffer = readBuffer();
+		}
+	}
+
+	/**
+	 * Create a new reader over the same package as this one.
+	 * <p>
+	 * The new reader shares this reader's underlying package channel, chunk
+	 * cache and version information, but maintains its own read buffer and
+	 * position, and reads from the package using positional reads which do
+	 * not affect other readers. This allows several cursors to read from a
+	 * single package concurrently.
+	 * <p>
+	 * The cursor has its own {@link #stats}, and closing it does not close the
+	 * underlying package channel.
+	 *
+	 * @return a new reader
+	 */
+	public PackageReader cursor() {
+		return new PackageReader(this);
 	}
 
 	@Override
 	public void close() throws IOException {
-		if (channel != null && channel.isOpen()) channel.close();
+		// cursors don't own the package channel, or any chunk channels they may be using
+		if (cursor) return;
+
+		// chunk channels are not closed, since they may be shared with other readers via a chunk cache
 		pgkChannel.close();
 	}
 
@@ -95,12 +231,18 @@ public class PackageReader implements Closeable {
 		try {
 			MessageDigest md = MessageDigest.getInstance(alg);
 
-			pgkChannel.position(0);
-			buffer.clear();
-			while (pgkChannel.read(buffer) > 0) {
-				buffer.flip();
-				md.update(buffer);
-				buffer.clear();
+			if (mapped != null) {
+				md.update(mapped.duplicate().clear());
+			} else {
+				ByteBuffer hashBuffer = ByteBuffer.allocate(READ_BUFFER);
+				long pos = 0;
+				int read;
+				while ((read = read(pgkChannel, hashBuffer, pos)) > 0) {
+					pos += read;
+					hashBuffer.flip();
+					md.update(hashBuffer);
+					hashBuffer.clear();
+				}
 			}
 
 			return bytesToHex(md.digest()).toLowerCase();
@@ -110,8 +252,181 @@ public class PackageReader implements Closeable {
 	}
 
 	public void setChunks(CompressedChunk[] chunks) {
-		this.chunks = chunks;
+		setChunks(chunks, null);
+	}
+
+	/**
+	 * Set the package's compressed chunks, along with the package's GUID,
+	 * which is used to identify the package in the disk cache, if one is in
+	 * use.
+	 */
+	void setChunks(CompressedChunk[] chunks, byte[] guid) {
+		// ordered by uncompressed position, for searching when moving around the package
+		CompressedChunk[] sorted = chunks.clone();
+		Arrays.sort(sorted, Comparator.comparingInt(c -> c.uncompressedOffset));
+		this.chunks = sorted;
 		this.stats.chunkCount = chunks.length;
+
+		if (diskCache != null && sorted.length > 0) {
+			FileIdentity file = fileIdentity();
+			if (file != null) this.uncompressed = openDiskCache(file, guid);
+		}
+	}
+
+	/**
+	 * Set a directory in which to keep decompressed copies of compressed
+	 * packages.
+	 * <p>
+	 * The first time a compressed package is read, all of its chunks are
+	 * decompressed into an uncompressed copy of the package within this
+	 * directory. Subsequent readers of the same package, including those in
+	 * later processes, memory-map that copy and read from it directly,
+	 * without needing to load or decompress any chunks.
+	 * <p>
+	 * Cached copies are identified by the package's file name, size,
+	 * modification time and GUID, so a changed package will be decompressed
+	 * again. Old copies are not removed from the directory.
+	 * <p>
+	 * This must be set before the package's chunks are known, so before a
+	 * {@link Package} is created with this reader. It's only effective for
+	 * readers created from a {@link Path}, and for packages of less than 2GB
+	 * once decompressed. If the cache can not be written to, chunks are read
+	 * as normal.
+	 *
+	 * @param cacheDir directory to keep decompressed packages in, or null to
+	 *                 disable the disk cache
+	 */
+	public void setDiskCache(Path cacheDir) {
+		this.diskCache = cacheDir;
+	}
+
+	/**
+	 * Set the cache used to hold decompressed chunks of compressed packages.
+	 * <p>
+	 * A single cache may be shared by many readers, and chunks are identified
+	 * by the package file they belong to, so several readers of the same file
+	 * (when created from a {@link Path}) may benefit from each other's
+	 * decompressed chunks. Readers created from channels are only able to
+	 * share chunks with their own cursors.
+	 * <p>
+	 * Cursors created after this is set will use the same cache.
+	 *
+	 * @param chunkCache chunk cache, or null to disable caching of chunks
+	 */
+	public void setChunkCache(ChunkCache chunkCache) {
+		this.chunkCache = chunkCache;
+		this.sharedChunkCache = chunkCache != null;
+	}
+
+	/**
+	 * Get the key identifying this package's chunks within the chunk cache.
+	 * <p>
+	 * Chunks in a cache which may be shared are keyed by the identity of the
+	 * package file, so other readers of the same file can find them. Caches
+	 * private to this reader and its cursors, or readers without a known
+	 * file, simply use the package channel.
+	 */
+	private Object chunkKey() {
+		if (!sharedChunkCache) return pgkChannel;
+
+		FileIdentity file = fileIdentity();
+		return file != null ? file : pgkChannel;
+	}
+
+	/**
+	 * Get the identity of the package file, working it out the first time
+	 * it's needed.
+	 *
+	 * @return file identity, or null if the file is not known
+	 */
+	private FileIdentity fileIdentity() {
+		FileIdentity file = fileIdentity;
+		if (file == null && packageFile != null) {
+			try {
+				// racing to create this is harmless, since all identities of the same file are equal
+				file = FileIdentity.of(packageFile);
+				fileIdentity = file;
+			} catch (IOException e) {
+				return null;
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Set an executor used to decompress compressed chunks in parallel.
+	 * <p>
+	 * When set, chunks are fully decompressed when first loaded, with their
+	 * blocks decompressed in parallel via the executor, rather than lazily
+	 * decompressing individual blocks as they are read.
+	 * <p>
+	 * Cursors created after this is set will use the same executor.
+	 *
+	 * @param executor executor for decompression tasks, for example
+	 *                 {@link java.util.concurrent.ForkJoinPool#commonPool()},
+	 *                 or null to decompress lazily on the reading thread
+	 */
+	public void setDecompressionExecutor(Executor executor) {
+		this.decompressionExecutor = executor;
+	}
+
+	/**
+	 * Enable background read-ahead of compressed chunks.
+	 * <p>
+	 * When the reader moves from one chunk into the chunk immediately
+	 * following it, as happens when reading through a package's exports in
+	 * order, the next <code>depth</code> chunks are loaded and decompressed
+	 * in the background via the provided executor, so they are ready by the
+	 * time the reader reaches them.
+	 * <p>
+	 * At most <code>maxBytes</code> of decompressed chunk data is held ahead
+	 * of the reader at any time. Read-ahead chunks the reader has moved past
+	 * without using are discarded.
+	 * <p>
+	 * Cursors created after this is set will share the same read-ahead.
+	 *
+	 * @param executor executor to decompress chunks with, or null to disable
+	 *                 read-ahead
+	 * @param depth    number of chunks to read ahead
+	 * @param maxBytes maximum number of decompressed bytes to hold ahead of
+	 *                 the reader
+	 */
+	public void setPrefetch(Executor executor, int depth, long maxBytes) {
+		this.prefetch = executor != null && depth > 0 ? new Prefetch(executor, depth, maxBytes) : null;
+	}
+
+	/**
+	 * Decompress all of this package's compressed chunks in parallel, and
+	 * retain them in memory for subsequent reads, regardless of whether chunk
+	 * caching is enabled.
+	 * <p>
+	 * This is useful when the entire package is going to be read, since all
+	 * blocks of all chunks will be decompressed concurrently.
+	 * <p>
+	 * The package's chunks must already be known (see
+	 * {@link #setChunks(CompressedChunk[])}), which is normally done while
+	 * reading the package header. This method does nothing for uncompressed
+	 * packages.
+	 *
+	 * @param executor executor for decompression tasks
+	 */
+	public void inflateChunks(Executor executor) {
+		if (chunks == null || uncompressed != null) return;
+
+		// chunk headers are small, so read them here, and only fan out the decompression of all the blocks within them
+		PackageReader headerReader = cursor();
+		List<CompletableFuture<Void>> pending = new ArrayList<>();
+		for (CompressedChunk chunk : chunks) {
+			ChunkChannel loaded = inflatedChunks.computeIfAbsent(chunk, headerReader::readChunk);
+			pending.add(loaded.inflateAsync(executor));
+		}
+
+		try {
+			CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException)e.getCause();
+			throw e;
+		}
 	}
 
 	// --- buffer positioning and management
@@ -149,19 +464,19 @@ public class PackageReader implements Closeable {
 	 * @return read position in package
 	 */
 	public int currentPosition() {
-		try {
-			if (channel instanceof ChunkChannel) {
-				return ((ChunkChannel)channel).chunk.uncompressedOffset + (int)(channel.position() - buffer.remaining());
-			} else {
-				return (int)(channel.position() - buffer.remaining());
-			}
-		} catch (IOException e) {
-			throw new IllegalStateException("Could not determine current file position");
+		if (channel instanceof ChunkChannel) {
+			return ((ChunkChannel)channel).chunk.uncompressedOffset + (int)channelPosition();
+		} else {
+			return (int)channelPosition();
 		}
 	}
 
 	/**
 	 * Move to a position in the file, clear the buffer, and read from there.
+	 * <p>
+	 * If the position is already within the read buffer, the buffered data
+	 * is reused, and the buffer is only topped up if less than half of it
+	 * remains from the new position.
 	 *
 	 * @param pos position in file
 	 */
@@ -174,32 +489,66 @@ public class PackageReader implements Closeable {
 	}
 
 	private void moveTo(long pos, boolean nonChunked, boolean keepChannel) {
+		SeekableByteChannel previousChannel = channel;
 		if (channel != pgkChannel && nonChunked) channel = pgkChannel;
 
-		AtomicLong movePos = new AtomicLong(pos);
+		long movePos = pos;
 
 		// maybe we want to be inside a chunk actually
+		if (!nonChunked && uncompressed != null) {
+			// the entire decompressed package is available from the disk cache, so there's no need to deal with chunks
+			channel = pgkChannel;
+			buffer = uncompressed;
+			try {
+				buffer.position((int)pos);
+			} catch (IllegalArgumentException e) {
+				throw new IllegalStateException("Could not move to position " + pos + " within package file", e);
+			} finally {
+				stats.moveToCount++;
+			}
+			return;
+		}
+
 		if (!keepChannel && !nonChunked && chunks != null) {
-			Optional<CompressedChunk> chunk = Arrays.stream(chunks)
-													.filter(c -> pos >= c.uncompressedOffset
-																 && pos < c.uncompressedOffset + c.uncompressedSize)
-													.findFirst();
-			chunk.ifPresent(compressedChunk -> {
+			int chunkIndex = chunkIndex(pos);
+			if (chunkIndex >= 0) {
+				CompressedChunk chunk = chunks[chunkIndex];
 				// we're already in the chunk, no need to re-read it
-				if (!(channel instanceof ChunkChannel) || ((ChunkChannel)channel).chunk != compressedChunk) {
-					channel = loadChunk(compressedChunk, cacheChunks);
+				if (!(channel instanceof ChunkChannel) || ((ChunkChannel)channel).chunk != chunk) {
+					channel = loadChunk(chunk, true);
+
+					if (prefetch != null && chunkIndex == lastChunk + 1) prefetch.ahead(this, chunkIndex);
+					lastChunk = chunkIndex;
 				}
 
-				movePos.set(pos - compressedChunk.uncompressedOffset);
-			});
+				movePos = pos - chunk.uncompressedOffset;
+			} else if (channel != pgkChannel) {
+				// outside of any chunk, so back to the uncompressed package header
+				channel = pgkChannel;
+			}
 		}
 
 		try {
-			channel.position(movePos.get());
+			if (mapped != null && channel == pgkChannel) {
+				buffer = mapped;
+				buffer.position((int)movePos);
+			} else if (buffer == readBuffer && channel == previousChannel
+					   && movePos >= channelPos - buffer.limit() && movePos < channelPos) {
+				// the position is already within the read buffer, so only read more if little of the buffer remains
+				buffer.position((int)(movePos - (channelPos - buffer.limit())));
+				if (buffer.remaining() < buffer.capacity() / 2) {
+					buffer.compact();
+					readChannel();
+					buffer.flip();
+				}
+			} else {
+				buffer = readBuffer();
+				channelPos = movePos;
 
-			buffer.clear();
-			channel.read(buffer);
-			buffer.flip();
+				buffer.clear();
+				readChannel();
+				buffer.flip();
+			}
 		} catch (IOException e) {
 			throw new IllegalStateException("Could not move to position " + pos + " within package file", e);
 		} finally {
@@ -215,15 +564,75 @@ public class PackageReader implements Closeable {
 	 */
 	public void moveRelative(int amount) {
 		try {
-			// note: subtract remaining because the current position within the channel will align with the end of the last buffer fill
-			moveTo(channel.position() - buffer.remaining() + amount, false, true);
-		} catch (IOException e) {
+			if (bufferMapped()) {
+				buffer.position(buffer.position() + amount);
+			} else {
+				moveTo(channelPosition() + amount, false, true);
+			}
+		} catch (IllegalArgumentException e) {
 			throw new IllegalStateException("Could not move by " + amount + " bytes within channel", e);
 		} finally {
 			stats.moveRelativeCount++;
 		}
 	}
 
+	/**
+	 * Read bytes directly from the package file at the provided file position,
+	 * without regard for compressed chunks, and without affecting the current
+	 * read position or buffer.
+	 * <p>
+	 * This is safe to call concurrently from several threads.
+	 *
+	 * @param filePos position within the package file
+	 * @param dest    destination array
+	 * @param offset  position within destination to place read bytes
+	 * @param length  number of bytes to read
+	 */
+	public void readRaw(long filePos, byte[] dest, int offset, int length) {
+		if (mapped != null) {
+			mapped.get((int)filePos, dest, offset, length);
+			return;
+		}
+
+		try {
+			ByteBuffer dst = ByteBuffer.wrap(dest, offset, length);
+			while (dst.hasRemaining()) {
+				int read = read(pgkChannel, dst, filePos + (length - dst.remaining()));
+				if (read < 0) throw new IllegalStateException("Unexpected end of package file reading from position " + filePos);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read " + length + " bytes from position " + filePos + " within package file", e);
+		}
+	}
+
+	/**
+	 * Read bytes directly from the package file at the provided file position
+	 * into the provided buffer, filling its remaining space, without regard
+	 * for compressed chunks, and without affecting the current read position
+	 * or buffer.
+	 * <p>
+	 * This is safe to call concurrently from several threads.
+	 *
+	 * @param filePos position within the package file
+	 * @param dest    destination buffer
+	 */
+	public void readRaw(long filePos, ByteBuffer dest) {
+		int length = dest.remaining();
+		if (mapped != null) {
+			dest.put(dest.position(), mapped, (int)filePos, length).position(dest.position() + length);
+			return;
+		}
+
+		try {
+			while (dest.hasRemaining()) {
+				int read = read(pgkChannel, dest, filePos + (length - dest.remaining()));
+				if (read < 0) throw new IllegalStateException("Unexpected end of package file reading from position " + filePos);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read " + length + " bytes from position " + filePos + " within package file", e);
+		}
+	}
+
 	/**
 	 * Ensure at least the specified number of bytes are available for
 	 * subsequent read operations.
@@ -247,9 +656,12 @@ public class PackageReader implements Closeable {
 	 * currently unread bytes in the buffer.
 	 */
 	public void fillBuffer() {
+		// the entire file is already available, there's nothing more to read
+		if (bufferMapped()) return;
+
 		try {
 			buffer.compact();
-			channel.read(buffer);
+			readChannel();
 			buffer.flip();
 		} catch (IOException e) {
 			throw new IllegalStateException("Could not read from package file", e);
@@ -326,6 +738,7 @@ public class PackageReader implements Closeable {
 		int read = 0;
 		while (read < length) {
 			if (buffer.remaining() < length) fillBuffer();
+			if (bufferMapped() && !buffer.hasRemaining()) break;
 			int i = currentPosition();
 			buffer.get(dest, offset + read, Math.min(buffer.remaining(), length - read));
 			read += currentPosition() - i;
@@ -442,8 +855,182 @@ public class PackageReader implements Closeable {
 		return string.trim();
 	}
 
+	/**
+	 * Skip over a string at the current buffer position, without decoding
+	 * it.
+	 *
+	 * @see #readString()
+	 */
+	public void skipString() {
+		if (version == 0) throw new IllegalStateException("Version is not set");
+
+		if (version < 64) {
+			// read to NUL/0x00
+			while (readByte() != 0x00) {
+				// skip
+			}
+		} else {
+			int len = version > 117 ? readIndex() : readByte() & 0xFF;
+			int skipLen = len < 0 ? -(len * 2) : len;
+			if (buffer.remaining() >= skipLen) buffer.position(buffer.position() + skipLen);
+			else moveRelative(skipLen);
+		}
+	}
+
 	// -- private helpers
 
+	/**
+	 * Get the read position within the current channel, accounting for any
+	 * data read ahead into the buffer but not yet consumed.
+	 *
+	 * @return read position within the current channel
+	 */
+	private long channelPosition() {
+		if (bufferMapped()) return buffer.position();
+
+		// note: subtract remaining because the current position within the channel will align with the end of the last buffer fill
+		return channelPos - buffer.remaining();
+	}
+
+	/**
+	 * Read from the current channel into the buffer, starting at the current
+	 * channel position, and advance the channel position by the number of
+	 * bytes read.
+	 */
+	private void readChannel() throws IOException {
+		// chunks may have been loaded by another reader, so make sure any compressed blocks are read via this one
+		int read = channel instanceof ChunkChannel chunkChannel
+			? chunkChannel.read(buffer, channelPos, this)
+			: read(channel, buffer, channelPos);
+		if (read > 0) channelPos += read;
+	}
+
+	/**
+	 * Read from a channel at the given position, without relying on or
+	 * altering the channel's own position where possible, so that the
+	 * channel may be shared between several readers.
+	 */
+	private static int read(SeekableByteChannel channel, ByteBuffer dst, long pos) throws IOException {
+		if (channel instanceof FileChannel fileChannel) {
+			return fileChannel.read(dst, pos);
+		} else if (channel instanceof ChunkChannel chunkChannel) {
+			return chunkChannel.read(dst, pos);
+		} else {
+			synchronized (channel) {
+				channel.position(pos);
+				return channel.read(dst);
+			}
+		}
+	}
+
+	/**
+	 * Map the disk cache copy of this package, creating it first if it does
+	 * not yet exist.
+	 *
+	 * @return the mapped decompressed package, or null if it's unavailable
+	 */
+	private ByteBuffer openDiskCache(FileIdentity file, byte[] guid) {
+		CompressedChunk last = chunks[chunks.length - 1];
+		long size = (long)last.uncompressedOffset + last.uncompressedSize;
+		if (size > Integer.MAX_VALUE) return null;
+
+		Path cached = diskCache.resolve(String.format("%s-%d-%d-%s.unc", file.path().getFileName(), file.size(),
+													  file.modified().toMillis(), guid == null ? "0" : bytesToHex(guid).toLowerCase()));
+		try {
+			if (!Files.isRegularFile(cached) || Files.size(cached) != size) writeDiskCache(cached);
+
+			try (FileChannel cacheChannel = FileChannel.open(cached, StandardOpenOption.READ)) {
+				return cacheChannel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+			}
+		} catch (IOException e) {
+			// the disk cache is only an optimisation, so carry on reading compressed chunks as normal
+			return null;
+		}
+	}
+
+	/**
+	 * Write a decompressed copy of the package, consisting of the package
+	 * header, followed by the content of each chunk at its uncompressed
+	 * position.
+	 * <p>
+	 * The copy is written to a temporary file first, and then moved into
+	 * place, so that other readers never see a partially written copy.
+	 */
+	private void writeDiskCache(Path cached) throws IOException {
+		Files.createDirectories(diskCache);
+		Path temp = Files.createTempFile(diskCache, cached.getFileName().toString(), ".tmp");
+		try {
+			// use a cursor, so this reader's position within the package header is left alone
+			PackageReader source = cursor();
+			try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				byte[] header = new byte[chunks[0].uncompressedOffset];
+				source.readRaw(0, header, 0, header.length);
+				write(out, header, 0);
+
+				for (CompressedChunk chunk : chunks) {
+					write(out, source.readChunk(chunk).content(), chunk.uncompressedOffset);
+				}
+			}
+
+			try {
+				Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static void write(FileChannel out, byte[] data, long pos) throws IOException {
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		while (buf.hasRemaining()) {
+			out.write(buf, pos + buf.position());
+		}
+	}
+
+	/**
+	 * Find the compressed chunk containing the provided position, by binary
+	 * search over the chunks, which are ordered by their uncompressed offsets.
+	 *
+	 * @param pos position in package
+	 * @return index of containing chunk, or -1 if the position is not within a chunk
+	 */
+	private int chunkIndex(long pos) {
+		int low = 0;
+		int high = chunks.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			CompressedChunk c = chunks[mid];
+			if (pos < c.uncompressedOffset) high = mid - 1;
+			else if (pos >= c.uncompressedOffset + c.uncompressedSize) low = mid + 1;
+			else return mid;
+		}
+		return -1;
+	}
+
+	/**
+	 * Whether the current buffer is a memory-mapped view of the entire
+	 * package, either the package file itself or its decompressed disk cache.
+	 */
+	private boolean bufferMapped() {
+		return buffer == mapped || buffer == uncompressed;
+	}
+
+	/**
+	 * Get the read buffer, allocating it if it has not been needed yet.
+	 * <p>
+	 * Cursors are expected to be short-lived, so avoid the cost of
+	 * allocating direct memory.
+	 */
+	private ByteBuffer readBuffer() {
+		if (readBuffer == null) {
+			readBuffer = cursor ? ByteBuffer.allocate(READ_BUFFER) : ByteBuffer.allocateDirect(READ_BUFFER);
+			readBuffer.order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return readBuffer;
+	}
+
 	private static String bytesToHex(byte[] bytes) {
 		char[] hexChars = new char[bytes.length * 2];
 		for (int i = 0; i < bytes.length; i++) {
@@ -458,6 +1045,9 @@ public class PackageReader implements Closeable {
 	 * For Unreal Engine 3 packages, loads data from a compressed chunk, and
 	 * returns a readable channel, within which normal package read
 	 * operations may be invoked.
+	 * <p>
+	 * Only the chunk's header and block table are read here; compressed
+	 * blocks are decompressed as they are read from the returned channel.
 	 *
 	 * @param chunk chunk to load
 	 * @return a decompressed chunk
@@ -468,34 +1058,138 @@ public class PackageReader implements Closeable {
 
 	private ChunkChannel loadChunk(CompressedChunk chunk, boolean cache) {
 		try {
-			Supplier<ChunkChannel> chunkLoader = () -> {
-				try {
-					moveTo(chunk.compressedOffset, true);
-					if (readInt() != Package.PKG_SIGNATURE) {
-						throw new IllegalStateException("Chunk does not seem to be Unreal package data");
-					}
-					int blockSize = readInt();
-					int compressedSize = readInt();
-					int uncompressedSize = readInt();
-					int numBlocks = (uncompressedSize + blockSize - 1) / blockSize;
-					int[] blockSizes = new int[numBlocks * 2];
-					for (int i = 0; i < blockSizes.length; i += 2) {
-						blockSizes[i] = readInt(); // compressed size
-						blockSizes[i + 1] = readInt(); // uncompressed size
-					}
-
-					return new ChunkChannel(this, chunk, uncompressedSize, blockSizes);
-				} finally {
-					stats.chunkLoadCount++;
+			// chunks may have been pre-loaded, even when not caching
+			ChunkChannel loaded = inflatedChunks.get(chunk);
+			if (loaded == null && prefetch != null) {
+				ChunkChannel prefetched = prefetch.take(chunk);
+				if (prefetched != null) {
+					ChunkCache chunkCache = this.chunkCache;
+					loaded = cache && chunkCache != null ? chunkCache.get(chunkKey(), chunk, c -> prefetched) : prefetched;
+					stats.chunkPrefetchCount++;
 				}
-			};
-
-			return !cache ? chunkLoader.get() : chunkCache.computeIfAbsent(chunk, c -> chunkLoader.get());
+			}
+			if (loaded == null) {
+				ChunkCache chunkCache = this.chunkCache;
+				loaded = cache && chunkCache != null ? chunkCache.get(chunkKey(), chunk, this::readChunk) : readChunk(chunk);
+			}
+			if (decompressionExecutor != null) loaded.inflate(decompressionExecutor, this);
+			return loaded;
 		} finally {
 			stats.chunkFetchCount++;
 		}
 	}
 
+	/**
+	 * Read a compressed chunk's header and block table, and create a channel
+	 * for reading its content.
+	 */
+	private ChunkChannel readChunk(CompressedChunk chunk) {
+		try {
+			moveTo(chunk.compressedOffset, true);
+			if (readInt() != Package.PKG_SIGNATURE) {
+				throw new IllegalStateException("Chunk does not seem to be Unreal package data");
+			}
+			int blockSize = readInt();
+			int compressedSize = readInt();
+			int uncompressedSize = readInt();
+			int numBlocks = (uncompressedSize + blockSize - 1) / blockSize;
+			int[] blockSizes = new int[numBlocks * 2];
+			for (int i = 0; i < blockSizes.length; i += 2) {
+				blockSizes[i] = readInt(); // compressed size
+				blockSizes[i + 1] = readInt(); // uncompressed size
+			}
+
+			return new ChunkChannel(this, chunk, uncompressedSize, blockSizes);
+		} finally {
+			stats.chunkLoadCount++;
+		}
+	}
+
+	/**
+	 * Background read-ahead of compressed chunks, shared between a reader and
+	 * its cursors.
+	 */
+	private static class Prefetch {
+
+		private final Executor executor;
+		private final int depth;
+		private final long maxBytes;
+
+		private final Map<CompressedChunk, CompletableFuture<ChunkChannel>> pending = new ConcurrentHashMap<>();
+		private final AtomicLong pendingBytes = new AtomicLong();
+
+		private Prefetch(Executor executor, int depth, long maxBytes) {
+			this.executor = executor;
+			this.depth = depth;
+			this.maxBytes = maxBytes;
+		}
+
+		/**
+		 * Begin loading chunks following the current one, as long as they fit
+		 * within the memory limit.
+		 */
+		private void ahead(PackageReader reader, int current) {
+			CompressedChunk[] chunks = reader.chunks;
+
+			// anything at or before the current chunk has been skipped over
+			for (CompressedChunk chunk : pending.keySet()) {
+				if (chunk.uncompressedOffset <= chunks[current].uncompressedOffset && pending.remove(chunk) != null) {
+					pendingBytes.addAndGet(-chunk.uncompressedSize);
+				}
+			}
+
+			for (int i = current + 1; i <= current + depth && i < chunks.length; i++) {
+				CompressedChunk next = chunks[i];
+				if (pending.containsKey(next) || reader.inflatedChunks.containsKey(next)) continue;
+
+				// reserve space for the chunk up-front, so concurrent cursors don't exceed the limit together
+				if (pendingBytes.addAndGet(next.uncompressedSize) > maxBytes) {
+					pendingBytes.addAndGet(-next.uncompressedSize);
+					break;
+				}
+
+				PackageReader loader = reader.cursor();
+				CompletableFuture<ChunkChannel> loading = pending.putIfAbsent(next, CompletableFuture.supplyAsync(() -> {
+					ChunkChannel loaded = loader.readChunk(next);
+					loaded.content();
+					return loaded;
+				}, executor));
+				if (loading != null) pendingBytes.addAndGet(-next.uncompressedSize);
+			}
+		}
+
+		/**
+		 * Take a chunk which has been read ahead, waiting for it if it's still
+		 * being decompressed.
+		 *
+		 * @return the chunk, or null if it was not read ahead, or failed to load
+		 */
+		private ChunkChannel take(CompressedChunk chunk) {
+			CompletableFuture<ChunkChannel> loading = pending.remove(chunk);
+			if (loading == null) return null;
+
+			pendingBytes.addAndGet(-chunk.uncompressedSize);
+			try {
+				return loading.join();
+			} catch (CompletionException e) {
+				// let the caller load it normally, which will surface the problem if there is one
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Identifies a package file by its location, size and modification time,
+	 * so that chunks cached for a file are not reused once it has changed.
+	 */
+	private record FileIdentity(Path path, long size, FileTime modified) {
+
+		private static FileIdentity of(Path packageFile) throws IOException {
+			BasicFileAttributes attrs = Files.readAttributes(packageFile, BasicFileAttributes.class);
+			return new FileIdentity(packageFile.toRealPath(), attrs.size(), attrs.lastModifiedTime());
+		}
+	}
+
 	public static class ReaderStats {
 
 		public int moveToCount;
@@ -505,12 +1199,14 @@ public class PackageReader implements Closeable {
 		public int chunkCount;
 		public int chunkLoadCount;
 		public int chunkFetchCount;
+		public int chunkPrefetchCount;
 
 		@Override
 		public String toString() {
 			return String.format(
-				"ReaderStats [moveToCount=%s, moveRelativeCount=%s, ensureRemainingCount=%s, fillBufferCount=%s, chunkCount=%s, chunkLoadCount=%s, chunkFetchCount=%s]",
-				moveToCount, moveRelativeCount, ensureRemainingCount, fillBufferCount, chunkCount, chunkLoadCount, chunkFetchCount);
+				"ReaderStats [moveToCount=%s, moveRelativeCount=%s, ensureRemainingCount=%s, fillBufferCount=%s, chunkCount=%s, chunkLoadCount=%s, chunkFetchCount=%s, chunkPrefetchCount=%s]",
+				moveToCount, moveRelativeCount, ensureRemainingCount, fillBufferCount, chunkCount, chunkLoadCount, chunkFetchCount,
+				chunkPrefetchCount);
 		}
 	}
 }
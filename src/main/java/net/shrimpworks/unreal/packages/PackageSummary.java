@@ -0,0 +1,249 @@
+package net.shrimpworks.unreal.packages;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import net.shrimpworks.unreal.packages.compression.CompressedChunk;
+import net.shrimpworks.unreal.packages.compression.CompressionFormat;
+import net.shrimpworks.unreal.packages.entities.Name;
+import net.shrimpworks.unreal.packages.entities.NamePool;
+
+/**
+ * The header of an Unreal package.
+ * <p>
+ * Reading a summary is much cheaper than reading a full {@link Package},
+ * since only the fixed package header (and optionally, the names table) is
+ * read, and no exports or imports are read or created. This is useful when
+ * only basic facts about a package, such as its version or the number of
+ * objects it contains, are needed.
+ */
+public class PackageSummary {
+
+	/**
+	 * Package file version.
+	 *
+	 * @see Package#version
+	 */
+	public final int version;
+	public final int license;
+
+	/**
+	 * For Unreal Engine 3, the size of the package header, otherwise 0.
+	 */
+	public final int headerSize;
+
+	/**
+	 * For Unreal Engine 3, the package's folder name, otherwise an empty
+	 * string.
+	 */
+	public final String folderName;
+
+	/**
+	 * Flags set for this package.
+	 *
+	 * @see Package#flags()
+	 */
+	public final int flags;
+
+	public final int nameCount;
+	public final int namePos;
+	public final int exportCount;
+	public final int exportPos;
+	public final int importCount;
+	public final int importPos;
+
+	/**
+	 * For Unreal Engine 3, the position of the dependencies table, otherwise 0.
+	 */
+	public final int dependsPos;
+
+	/**
+	 * The package GUID. Not present in early Unreal packages, in which case
+	 * it is null.
+	 */
+	public final byte[] guid;
+
+	/**
+	 * Generation information, describing the number of exports and names in
+	 * each generation of the package. Empty for early Unreal packages.
+	 */
+	public final Generation[] generations;
+
+	/**
+	 * For Unreal Engine 3, the engine version which built the package,
+	 * otherwise defaults to package version.
+	 */
+	public final int engineVersion;
+
+	/**
+	 * For Unreal Engine 3, the version of the cooker which cooked the
+	 * package, otherwise 0.
+	 */
+	public final int cookerVersion;
+
+	/**
+	 * For Unreal Engine 3 packages which are composed of several compressed
+	 * data chunks, defines their format. Otherwise defaults to None.
+	 */
+	public final CompressionFormat compressionFormat;
+
+	/**
+	 * For Unreal Engine 3 packages with compressed chunks, the compressed
+	 * chunks making up the package. Otherwise empty.
+	 */
+	public final CompressedChunk[] compressedChunks;
+
+	/**
+	 * Names defined in the package, if they were requested when reading the
+	 * summary, otherwise null.
+	 */
+	public final Name[] names;
+
+	/**
+	 * Read a package summary from the start of the provided reader.
+	 * <p>
+	 * The reader will be configured with the package's version and
+	 * compressed chunks, so it may continue to be used to read the package's
+	 * contents.
+	 *
+	 * @param reader    package reader
+	 * @param readNames if true, also read the package's names table
+	 */
+	public PackageSummary(PackageReader reader, boolean readNames) {
+		this(reader, readNames, null);
+	}
+
+	/**
+	 * Read a package summary from the start of the provided reader, with
+	 * names read from the package's names table taken from a name pool.
+	 *
+	 * @param reader    package reader
+	 * @param readNames if true, also read the package's names table
+	 * @param namePool  pool to take names from, or null to create new names
+	 * @see #PackageSummary(PackageReader, boolean)
+	 */
+	public PackageSummary(PackageReader reader, boolean readNames, NamePool namePool) {
+		reader.moveTo(0); // overly explicit start from the start
+
+		if (reader.readInt() != Package.PKG_SIGNATURE) {
+			throw new IllegalArgumentException("Package does not seem to be an Unreal package");
+		}
+
+		this.version = reader.readShort();
+		reader.version = version;
+
+		this.license = reader.readShort();
+
+		this.headerSize = version >= 249 ? reader.readInt() : 0;
+		this.folderName = version >= 269 ? reader.readString() : "";
+
+		this.flags = reader.readInt();
+
+		this.nameCount = reader.readInt();
+		this.namePos = reader.readInt();
+
+		this.exportCount = reader.readInt();
+		this.exportPos = reader.readInt();
+
+		this.importCount = reader.readInt();
+		this.importPos = reader.readInt();
+
+		this.dependsPos = version >= 415 ? reader.readInt() : 0;
+
+		if (version >= 584) {
+			reader.moveRelative(16); // skipping: 16 unknown bytes
+		}
+
+		if (version < 68) {
+			// unused, we don't care about the heritage values or the heritage table
+			reader.readInt(); // skipping: heritageCount
+			reader.readInt(); // skipping: heritagePos
+			this.guid = null;
+			this.generations = new Generation[0];
+		} else {
+			this.guid = new byte[16];
+			reader.readBytes(guid, 0, guid.length);
+			this.generations = new Generation[reader.readInt()];
+			for (int i = 0; i < generations.length; i++) {
+				generations[i] = new Generation(reader.readInt(), reader.readInt(), version > 322 ? reader.readInt() : 0);
+			}
+		}
+
+		this.engineVersion = version >= 245 ? reader.readInt() : version;
+		this.cookerVersion = version >= 277 ? reader.readInt() : 0;
+
+		// read compressed chunk information and tell the package reader about them
+		this.compressionFormat = version >= 334 ? CompressionFormat.fromFlag(reader.readInt()) : CompressionFormat.NONE;
+		int compressedChunkCount = version >= 334 ? reader.readInt() : 0;
+		if (compressionFormat != CompressionFormat.NONE) {
+			this.compressedChunks = new CompressedChunk[compressedChunkCount];
+			for (int i = 0; i < compressedChunkCount; i++) {
+				compressedChunks[i] = new CompressedChunk(
+					compressionFormat,
+					reader.readInt(),
+					reader.readInt(),
+					reader.readInt(),
+					reader.readInt()
+				);
+			}
+			reader.setChunks(compressedChunks, guid);
+		} else {
+			this.compressedChunks = new CompressedChunk[0];
+		}
+
+		this.names = readNames ? readNames(reader, namePool) : null;
+	}
+
+	/**
+	 * Read a package summary from a package file.
+	 *
+	 * @param packageFile package file to read
+	 * @param readNames   if true, also read the package's names table
+	 * @return package summary
+	 * @throws IOException failed to read the package
+	 */
+	public static PackageSummary read(Path packageFile, boolean readNames) throws IOException {
+		try (PackageReader reader = new PackageReader(packageFile)) {
+			return new PackageSummary(reader, readNames);
+		}
+	}
+
+	/**
+	 * Read all names from the package's names table.
+	 *
+	 * @param reader   package reader
+	 * @param namePool pool to take names from, or null
+	 * @return array of names
+	 */
+	private Name[] readNames(PackageReader reader, NamePool namePool) {
+		Name[] names = new Name[nameCount];
+
+		reader.moveTo(namePos);
+
+		for (int i = 0; i < nameCount; i++) {
+			reader.ensureRemaining(256); // more-or-less
+			String name = reader.readString();
+			long flags = version >= 141 ? reader.readLong() : reader.readInt();
+			names[i] = namePool != null ? namePool.intern(name, 0, flags) : new Name(name, 0, flags);
+		}
+
+		return names;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+			"PackageSummary [version=%s, license=%s, flags=%s, engineVersion=%s, compressionFormat=%s, names=%s, exports=%s, imports=%s]",
+			version, license, flags, engineVersion, compressionFormat, nameCount, exportCount, importCount);
+	}
+
+	/**
+	 * Package generation information.
+	 *
+	 * @param exportCount    number of exports in the generation
+	 * @param nameCount      number of names in the generation
+	 * @param netObjectCount for Unreal Engine 3, the number of net objects
+	 *                       in the generation, otherwise 0
+	 */
+	public record Generation(int exportCount, int nameCount, int netObjectCount) {}
+}
@@ -0,0 +1,226 @@
+package net.shrimpworks.unreal.packages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.shrimpworks.unreal.packages.entities.Name;
+import net.shrimpworks.unreal.packages.entities.properties.ArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.BooleanProperty;
+import net.shrimpworks.unreal.packages.entities.properties.ByteArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.ByteProperty;
+import net.shrimpworks.unreal.packages.entities.properties.EnumProperty;
+import net.shrimpworks.unreal.packages.entities.properties.FixedArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.FloatArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.FloatProperty;
+import net.shrimpworks.unreal.packages.entities.properties.IntArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.IntegerProperty;
+import net.shrimpworks.unreal.packages.entities.properties.NameArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.NameProperty;
+import net.shrimpworks.unreal.packages.entities.properties.ObjectProperty;
+import net.shrimpworks.unreal.packages.entities.properties.Property;
+import net.shrimpworks.unreal.packages.entities.properties.PropertyType;
+import net.shrimpworks.unreal.packages.entities.properties.PropertyVisitor;
+import net.shrimpworks.unreal.packages.entities.properties.StringProperty;
+import net.shrimpworks.unreal.packages.entities.properties.StructProperty;
+import net.shrimpworks.unreal.packages.entities.properties.UnknownArrayProperty;
+
+/**
+ * A {@link PropertyVisitor} which collects visited properties into a list of
+ * {@link Property} instances, as provided to objects.
+ * <p>
+ * Elements of static arrays are collected into {@link ArrayProperty}
+ * instances. In Unreal Engine 3 packages, only dynamic arrays of unknown
+ * types are treated as static array elements.
+ */
+class PropertyCollector implements PropertyVisitor {
+
+	private final Package pkg;
+	private final boolean ue3;
+
+	private final List<Property> properties = new ArrayList<>();
+
+	// static array elements, collected until a property not part of the array is found
+	private Name pendingName;
+	private List<Property> pending;
+
+	// elements of a dynamic array currently being read
+	private List<ObjectProperty> elements;
+
+	PropertyCollector(Package pkg) {
+		this.pkg = pkg;
+		this.ue3 = pkg.version > 220;
+	}
+
+	/**
+	 * Get the collected properties.
+	 *
+	 * @return properties
+	 */
+	List<Property> properties() {
+		flush();
+		return properties;
+	}
+
+	@Override
+	public void onBoolean(Name name, int arrayIndex, boolean value) {
+		add(new BooleanProperty(pkg, name, value), arrayIndex);
+	}
+
+	@Override
+	public void onByte(Name name, int arrayIndex, byte value) {
+		add(new ByteProperty(pkg, name, value), arrayIndex);
+	}
+
+	@Override
+	public void onEnum(Name name, int arrayIndex, Name value) {
+		add(new EnumProperty(pkg, name, value), arrayIndex);
+	}
+
+	@Override
+	public void onInt(Name name, int arrayIndex, int value) {
+		add(new IntegerProperty(pkg, name, value), arrayIndex);
+	}
+
+	@Override
+	public void onFloat(Name name, int arrayIndex, float value) {
+		add(new FloatProperty(pkg, name, value), arrayIndex);
+	}
+
+	@Override
+	public void onString(Name name, int arrayIndex, String value) {
+		add(new StringProperty(pkg, name, value), arrayIndex);
+	}
+
+	@Override
+	public void onName(Name name, int arrayIndex, Name value) {
+		add(new NameProperty(pkg, name, value), arrayIndex);
+	}
+
+	@Override
+	public void onObjectRef(Name name, int arrayIndex, int objectIndex) {
+		ObjectProperty property = new ObjectProperty(pkg, name, pkg.objectReference(objectIndex));
+		if (elements != null) elements.add(property);
+		else add(property, arrayIndex);
+	}
+
+	@Override
+	public void onVector(Name name, int arrayIndex, float x, float y, float z) {
+		add(new StructProperty.VectorProperty(pkg, name, x, y, z), arrayIndex);
+	}
+
+	@Override
+	public void onRotator(Name name, int arrayIndex, int pitch, int yaw, int roll) {
+		add(new StructProperty.RotatorProperty(pkg, name, pitch, yaw, roll), arrayIndex);
+	}
+
+	@Override
+	public void onScale(Name name, int arrayIndex, float x, float y, float z, float sheerRate, byte sheerAxis) {
+		add(new StructProperty.ScaleProperty(pkg, name, x, y, z, sheerRate, sheerAxis), arrayIndex);
+	}
+
+	@Override
+	public void onColor(Name name, int arrayIndex, byte r, byte g, byte b, byte a) {
+		add(new StructProperty.ColorProperty(pkg, name, r, g, b, a), arrayIndex);
+	}
+
+	@Override
+	public void onSphere(Name name, int arrayIndex, float x, float y, float z, float radius) {
+		add(new StructProperty.SphereProperty(pkg, name, x, y, z, radius), arrayIndex);
+	}
+
+	@Override
+	public void onPointRegion(Name name, int arrayIndex, int zoneIndex, int iLeaf, byte zoneNumber) {
+		add(new StructProperty.PointRegionProperty(pkg, name, pkg.objectReference(zoneIndex), iLeaf, zoneNumber), arrayIndex);
+	}
+
+	@Override
+	public void onUnknownStruct(Name name, int arrayIndex, StructProperty.StructType structType, int size) {
+		add(new StructProperty.UnknownStructProperty(pkg, name), arrayIndex);
+	}
+
+	@Override
+	public void onArrayStart(Name name, int arrayIndex, int count, boolean elements) {
+		if (elements) this.elements = new ArrayList<>(count);
+		else add(new UnknownArrayProperty(pkg, name, count), arrayIndex);
+	}
+
+	@Override
+	public void onArrayEnd(Name name, int arrayIndex) {
+		if (elements == null) return;
+
+		ArrayProperty array = new ArrayProperty(pkg, name, elements);
+		elements = null;
+		add(array, ue3 ? -1 : arrayIndex);
+	}
+
+	@Override
+	public void onIntArray(Name name, int arrayIndex, PropertyType elementType, int[] values) {
+		add(new IntArrayProperty(pkg, name, elementType, values), ue3 ? -1 : arrayIndex);
+	}
+
+	@Override
+	public void onFloatArray(Name name, int arrayIndex, float[] values) {
+		add(new FloatArrayProperty(pkg, name, values), ue3 ? -1 : arrayIndex);
+	}
+
+	@Override
+	public void onByteArray(Name name, int arrayIndex, byte[] values) {
+		add(new ByteArrayProperty(pkg, name, values), ue3 ? -1 : arrayIndex);
+	}
+
+	@Override
+	public void onNameArray(Name name, int arrayIndex, Name[] values) {
+		add(new NameArrayProperty(pkg, name, values), ue3 ? -1 : arrayIndex);
+	}
+
+	@Override
+	public void onFixedArray(Name name, int arrayIndex, int objectIndex, int count) {
+		add(new FixedArrayProperty(pkg, name, pkg.objectReference(objectIndex), count), arrayIndex);
+	}
+
+	/**
+	 * Add a property, combining static array elements into arrays.
+	 * <p>
+	 * We should magically know that if this property is part of an array,
+	 * the previous property is either an array we need to add to, or the
+	 * previous property is actually the first item of the array. In the
+	 * second case, we need to replace it with a new array property.
+	 */
+	private void add(Property property, int arrayIndex) {
+		boolean item = arrayIndex >= 0 && (!ue3 || property instanceof UnknownArrayProperty);
+
+		if (item && pending != null) {
+			pending.add(Math.min(arrayIndex, pending.size()), property);
+			return;
+		}
+
+		if (item && !properties.isEmpty()) {
+			Property last = properties.getLast();
+			if (last instanceof ArrayProperty array) {
+				properties.removeLast();
+				pendingName = array.name;
+				pending = new ArrayList<>(array.values);
+				pending.add(Math.min(arrayIndex, pending.size()), property);
+				return;
+			} else if (last.name.equals(property.name)) {
+				properties.removeLast();
+				pendingName = property.name;
+				pending = new ArrayList<>();
+				pending.add(last);
+				pending.add(Math.min(arrayIndex, pending.size()), property);
+				return;
+			}
+		}
+
+		flush();
+		properties.add(property);
+	}
+
+	private void flush() {
+		if (pending == null) return;
+
+		properties.add(new ArrayProperty(pkg, pendingName, pending));
+		pending = null;
+		pendingName = null;
+	}
+}
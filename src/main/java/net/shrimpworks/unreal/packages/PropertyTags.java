@@ -0,0 +1,82 @@
+package net.shrimpworks.unreal.packages;
+
+import java.util.Arrays;
+
+import net.shrimpworks.unreal.packages.entities.properties.PropertyType;
+import net.shrimpworks.unreal.packages.entities.properties.StructProperty;
+
+/**
+ * Compact storage of the property tags read for an object.
+ * <p>
+ * For each property, only its tag is held - the raw index and number of its
+ * name, its type, size and array index, and the position of its value within
+ * the package - allowing its value to be read later, when needed.
+ *
+ * @see Package#setLazyProperties(boolean)
+ */
+final class PropertyTags {
+
+	private static final PropertyType[] TYPES = PropertyType.values();
+	private static final StructProperty.StructType[] STRUCT_TYPES = StructProperty.StructType.values();
+
+	private static final int NAME = 0;
+	private static final int NUMBER = 1;
+	private static final int TYPE = 2;    // property type ordinal, struct type ordinal + 1 and flag, packed
+	private static final int SIZE = 3;
+	private static final int ARRAY_INDEX = 4;
+	private static final int POSITION = 5;
+	private static final int STRIDE = 6;
+
+	private int[] tags = new int[STRIDE * 8];
+	private int count;
+
+	void add(int name, int number, PropertyType type, StructProperty.StructType structType, int size, int arrayIndex,
+			 boolean flag, int position) {
+		if ((count + 1) * STRIDE > tags.length) tags = Arrays.copyOf(tags, tags.length * 2);
+
+		int i = count++ * STRIDE;
+		tags[i + NAME] = name;
+		tags[i + NUMBER] = number;
+		tags[i + TYPE] = type.ordinal() | (structType != null ? structType.ordinal() + 1 : 0) << 8 | (flag ? 1 : 0) << 16;
+		tags[i + SIZE] = size;
+		tags[i + ARRAY_INDEX] = arrayIndex;
+		tags[i + POSITION] = position;
+	}
+
+	int count() {
+		return count;
+	}
+
+	int name(int index) {
+		return tags[index * STRIDE + NAME];
+	}
+
+	int number(int index) {
+		return tags[index * STRIDE + NUMBER];
+	}
+
+	PropertyType type(int index) {
+		return TYPES[tags[index * STRIDE + TYPE] & 0xFF];
+	}
+
+	StructProperty.StructType structType(int index) {
+		int struct = (tags[index * STRIDE + TYPE] >> 8) & 0xFF;
+		return struct == 0 ? null : STRUCT_TYPES[struct - 1];
+	}
+
+	boolean flag(int index) {
+		return (tags[index * STRIDE + TYPE] >> 16 & 1) != 0;
+	}
+
+	int propertySize(int index) {
+		return tags[index * STRIDE + SIZE];
+	}
+
+	int arrayIndex(int index) {
+		return tags[index * STRIDE + ARRAY_INDEX];
+	}
+
+	int position(int index) {
+		return tags[index * STRIDE + POSITION];
+	}
+}
@@ -0,0 +1,130 @@
+package net.shrimpworks.unreal.packages;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import net.shrimpworks.unreal.packages.entities.ExportedObject;
+import net.shrimpworks.unreal.packages.entities.objects.Object;
+
+/**
+ * An {@link ObjectCache} implementation which holds objects via soft
+ * references, allowing the garbage collector to reclaim them when memory is
+ * needed.
+ * <p>
+ * The weight of held objects is tracked as for
+ * {@link ObjectCache#weighted(long)}, though never limited.
+ */
+public class SoftObjectCache implements ObjectCache {
+
+	private final Map<Key, Entry> objects = new ConcurrentHashMap<>();
+	private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final AtomicLong weight = new AtomicLong();
+
+	/**
+	 * Create a new cache which holds objects via soft references.
+	 *
+	 * @see ObjectCache#soft()
+	 */
+	public SoftObjectCache() {
+	}
+
+	@Override
+	public Object get(Package pkg, ExportedObject export, Function<ExportedObject, Object> loader) {
+		expunge();
+
+		Key key = new Key(pkg, export.index);
+
+		Entry existing = objects.get(key);
+		Object object = existing != null ? existing.get() : null;
+		if (object != null) {
+			hits.increment();
+			return object;
+		}
+		misses.increment();
+
+		Object loaded = loader.apply(export);
+		if (loaded == null) return null;
+
+		Entry entry = new Entry(key, loaded, Math.max(1, export.size), collected);
+		Entry previous = objects.put(key, entry);
+		weight.addAndGet(entry.weight);
+		if (previous != null && previous.remove()) weight.addAndGet(-previous.weight);
+
+		return loaded;
+	}
+
+	@Override
+	public void invalidate(Package pkg) {
+		objects.values().removeIf(e -> {
+			if (e.key.pkg() != pkg) return false;
+			if (e.remove()) weight.addAndGet(-e.weight);
+			return true;
+		});
+	}
+
+	@Override
+	public void clear() {
+		objects.values().removeIf(e -> {
+			if (e.remove()) weight.addAndGet(-e.weight);
+			return true;
+		});
+	}
+
+	@Override
+	public Stats stats() {
+		expunge();
+		return new Stats(hits.sum(), misses.sum(), evictions.sum(), objects.size(), weight.get());
+	}
+
+	/**
+	 * Remove entries for objects which have been collected.
+	 */
+	private void expunge() {
+		Reference<? extends Object> ref;
+		while ((ref = collected.poll()) != null) {
+			Entry entry = (Entry)ref;
+			if (objects.remove(entry.key, entry)) evictions.increment();
+			if (entry.remove()) weight.addAndGet(-entry.weight);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("SoftObjectCache [stats=%s]", stats());
+	}
+
+	private static class Entry extends SoftReference<Object> {
+
+		private final Key key;
+		private final long weight;
+
+		// whether this entry's weight has been removed from the total
+		private boolean removed;
+
+		private Entry(Key key, Object object, long weight, ReferenceQueue<Object> queue) {
+			super(object, queue);
+			this.key = key;
+			this.weight = weight;
+		}
+
+		/**
+		 * Mark this entry as removed, returning true if it had not been
+		 * removed already.
+		 */
+		private synchronized boolean remove() {
+			if (removed) return false;
+			removed = true;
+			return true;
+		}
+	}
+}
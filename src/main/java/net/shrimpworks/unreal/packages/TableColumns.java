@@ -0,0 +1,131 @@
+package net.shrimpworks.unreal.packages;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Primitive column storage of a package's exports and imports tables.
+ * <p>
+ * Rather than an object per table entry, each value of each entry is held
+ * within an array per value type, with an entry's values found at its index
+ * within each array. References to names, exports and imports are held as
+ * raw index values, as read from the package.
+ * <p>
+ * Name numbers are only present in Unreal Engine 3 packages, and otherwise
+ * these arrays are null.
+ *
+ * @see Package.TableMode#COLUMNAR
+ */
+final class TableColumns {
+
+	final int[] exportClass;
+	final int[] exportSuper;
+	final int[] exportGroup;
+	final int[] exportName;
+	final int[] exportNameNumber;
+	final long[] exportFlags;
+	final int[] exportSize;
+	final int[] exportPos;
+	// export component name index, name number and object reference triplets, for the few exports which have any
+	final Map<Integer, int[]> exportComponents;
+
+	final int[] importClassPackage;
+	final int[] importClassPackageNumber;
+	final int[] importClassName;
+	final int[] importClassNameNumber;
+	final int[] importPackage;
+	final int[] importName;
+	final int[] importNameNumber;
+
+	private final int version;
+
+	TableColumns(PackageReader reader, PackageSummary summary) {
+		this.version = summary.version;
+
+		boolean numbers = version >= 343;
+
+		int exportCount = summary.exportCount;
+		this.exportClass = new int[exportCount];
+		this.exportSuper = new int[exportCount];
+		this.exportGroup = new int[exportCount];
+		this.exportName = new int[exportCount];
+		this.exportNameNumber = numbers ? new int[exportCount] : null;
+		this.exportFlags = new long[exportCount];
+		this.exportSize = new int[exportCount];
+		this.exportPos = new int[exportCount];
+		this.exportComponents = new HashMap<>();
+
+		reader.moveTo(summary.exportPos);
+		for (int i = 0; i < exportCount; i++) {
+			reader.ensureRemaining(128); // more-or-less, usually less
+			readExport(reader, i);
+		}
+
+		int importCount = summary.importCount;
+		this.importClassPackage = new int[importCount];
+		this.importClassPackageNumber = numbers ? new int[importCount] : null;
+		this.importClassName = new int[importCount];
+		this.importClassNameNumber = numbers ? new int[importCount] : null;
+		this.importPackage = new int[importCount];
+		this.importName = new int[importCount];
+		this.importNameNumber = numbers ? new int[importCount] : null;
+
+		reader.moveTo(summary.importPos);
+		for (int i = 0; i < importCount; i++) {
+			reader.ensureRemaining(40); // more-or-less, usually less
+			readImport(reader, i);
+		}
+	}
+
+	/**
+	 * Read a single export into the export columns at the provided index.
+	 */
+	private void readExport(PackageReader reader, int index) {
+		ExportLayout.read(reader, version, new ExportLayout.Sink() {
+			private int[] components;
+			private int component;
+
+			@Override
+			public void components(int count) {
+				if (count > 0) components = new int[count * 3];
+			}
+
+			@Override
+			public void component(int name, int nameNumber, int objectIndex) {
+				components[component++] = name;
+				components[component++] = nameNumber;
+				components[component++] = objectIndex;
+			}
+
+			@Override
+			public void export(int classIndex, int superIndex, int groupIndex, int name, int nameNumber, long flags, int size, int pos) {
+				exportClass[index] = classIndex;
+				exportSuper[index] = superIndex;
+				exportGroup[index] = groupIndex;
+				exportName[index] = name;
+				if (exportNameNumber != null) exportNameNumber[index] = nameNumber;
+				exportFlags[index] = flags;
+				exportSize[index] = size;
+				exportPos[index] = pos;
+				if (components != null) exportComponents.put(index, components);
+			}
+		});
+	}
+
+	/**
+	 * Read a single import into the import columns at the provided index.
+	 */
+	private void readImport(PackageReader reader, int index) {
+		importClassPackage[index] = reader.readIndex();
+		if (importClassPackageNumber != null) importClassPackageNumber[index] = reader.readInt();
+		importClassName[index] = reader.readIndex();
+		if (importClassNameNumber != null) importClassNameNumber[index] = reader.readInt();
+		importPackage[index] = reader.readInt();
+		importName[index] = reader.readIndex();
+		if (importNameNumber != null) importNameNumber[index] = reader.readInt();
+	}
+
+	static int number(int[] numbers, int index) {
+		return numbers == null ? -1 : numbers[index];
+	}
+}
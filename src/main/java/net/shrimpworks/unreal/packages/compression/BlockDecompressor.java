@@ -0,0 +1,42 @@
+package net.shrimpworks.unreal.packages.compression;
+
+import net.shrimpworks.unreal.packages.PackageReader;
+
+/**
+ * Decompresses individual compressed blocks of a compressed chunk directly
+ * into a destination array.
+ * <p>
+ * Implementations retain any decompressor state and scratch buffers they
+ * need for reuse, rather than allocating them per block, and must be safe
+ * for concurrent use by several threads.
+ */
+public interface BlockDecompressor {
+
+	/**
+	 * Decompress a single block.
+	 *
+	 * @param source           reader used to read compressed bytes from the
+	 *                         package file
+	 * @param filePos          position of the compressed block within the file
+	 * @param compressedSize   size of the compressed block
+	 * @param dest             destination for decompressed bytes
+	 * @param destOffset       position within the destination to write to
+	 * @param uncompressedSize expected size of the decompressed block
+	 */
+	void decompress(PackageReader source, long filePos, int compressedSize, byte[] dest, int destOffset, int uncompressedSize);
+
+	/**
+	 * Get a decompressor for the provided compression format.
+	 *
+	 * @param format compression format
+	 * @return a shared decompressor instance
+	 * @throws IllegalArgumentException the format is not supported
+	 */
+	static BlockDecompressor forFormat(CompressionFormat format) {
+		return switch (format) {
+			case LZO -> LzoBlockDecompressor.INSTANCE;
+			case LZIB -> ZlibBlockDecompressor.INSTANCE;
+			default -> throw new IllegalArgumentException("Unsupported compression format " + format.name());
+		};
+	}
+}
@@ -0,0 +1,93 @@
+package net.shrimpworks.unreal.packages.compression;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link ChunkCache} implementation which limits the total number of
+ * decompressed bytes held, evicting least-recently used chunks when that
+ * limit is exceeded.
+ * <p>
+ * The size of a chunk is its uncompressed size, regardless of how many of
+ * its blocks have actually been decompressed so far.
+ */
+public class BoundedChunkCache implements ChunkCache {
+
+	private final long maxBytes;
+
+	// access-ordered, so iteration starts with the least-recently used chunk
+	private final LinkedHashMap<Key, ChunkChannel> chunks = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public BoundedChunkCache(long maxBytes) {
+		if (maxBytes <= 0) throw new IllegalArgumentException("Maximum cache size must be greater than zero");
+		this.maxBytes = maxBytes;
+	}
+
+	@Override
+	public ChunkChannel get(Object fileKey, CompressedChunk chunk, Function<CompressedChunk, ChunkChannel> loader) {
+		Key key = new Key(fileKey, chunk.compressedOffset);
+
+		synchronized (this) {
+			ChunkChannel existing = chunks.get(key);
+			if (existing != null) {
+				hits++;
+				return existing;
+			}
+			misses++;
+		}
+
+		// load outside the lock, so other chunks may be served while this one loads
+		ChunkChannel loaded = loader.apply(chunk);
+
+		synchronized (this) {
+			// someone else may have loaded the same chunk in the meantime, prefer theirs
+			ChunkChannel existing = chunks.putIfAbsent(key, loaded);
+			if (existing != null) return existing;
+
+			bytes += loaded.size();
+			evict(key);
+		}
+
+		return loaded;
+	}
+
+	@Override
+	public synchronized void clear() {
+		chunks.clear();
+		bytes = 0;
+	}
+
+	@Override
+	public synchronized Stats stats() {
+		return new Stats(hits, misses, evictions, chunks.size(), bytes);
+	}
+
+	/**
+	 * Evict least-recently used chunks until the cache is within its size
+	 * limit, never evicting the most recently added chunk.
+	 */
+	private void evict(Key retain) {
+		Iterator<Map.Entry<Key, ChunkChannel>> it = chunks.entrySet().iterator();
+		while (bytes > maxBytes && it.hasNext()) {
+			Map.Entry<Key, ChunkChannel> eldest = it.next();
+			if (eldest.getKey().equals(retain)) continue;
+
+			// note: evicted chunks are not closed, since readers may still be using them
+			it.remove();
+			bytes -= eldest.getValue().size();
+			evictions++;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("BoundedChunkCache [maxBytes=%s, stats=%s]", maxBytes, stats());
+	}
+}
@@ -0,0 +1,89 @@
+package net.shrimpworks.unreal.packages.compression;
+
+import java.util.function.Function;
+
+/**
+ * A cache of decompressed chunks, used by package readers to avoid
+ * repeatedly decompressing the same chunks of compressed packages.
+ * <p>
+ * Chunks are keyed by the identity of the file they belong to, and the
+ * chunk's position within that file, allowing a single cache instance to
+ * be shared between several package readers (and several packages), so
+ * that the total memory used by decompressed chunks may be limited across
+ * an application rather than per package.
+ * <p>
+ * Implementations must be safe for concurrent use.
+ */
+public interface ChunkCache {
+
+	/**
+	 * Get a chunk from the cache, loading it via the provided loader if it
+	 * is not present.
+	 *
+	 * @param fileKey identity of the file the chunk belongs to
+	 * @param chunk   the chunk to get
+	 * @param loader  function to load the chunk if it is not cached
+	 * @return decompressed chunk channel
+	 */
+	ChunkChannel get(Object fileKey, CompressedChunk chunk, Function<CompressedChunk, ChunkChannel> loader);
+
+	/**
+	 * Remove all chunks from the cache.
+	 */
+	void clear();
+
+	/**
+	 * Get a snapshot of this cache's statistics.
+	 *
+	 * @return cache statistics
+	 */
+	Stats stats();
+
+	/**
+	 * Create a new cache which will hold any number of chunks, until it is
+	 * cleared or discarded.
+	 *
+	 * @return a new cache
+	 */
+	static ChunkCache unbounded() {
+		return new BoundedChunkCache(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new cache which holds up to a maximum number of decompressed
+	 * bytes, evicting the least-recently used chunks once that limit is
+	 * exceeded.
+	 *
+	 * @param maxBytes maximum size of all decompressed chunks held
+	 * @return a new cache
+	 */
+	static ChunkCache bounded(long maxBytes) {
+		return new BoundedChunkCache(maxBytes);
+	}
+
+	/**
+	 * Key identifying a chunk within a particular file.
+	 *
+	 * @param fileKey          identity of the file
+	 * @param compressedOffset position of the chunk within the file
+	 */
+	record Key(Object fileKey, int compressedOffset) {}
+
+	/**
+	 * Cache statistics.
+	 *
+	 * @param hits      number of requests satisfied by the cache
+	 * @param misses    number of requests which required loading a chunk
+	 * @param evictions number of chunks evicted from the cache
+	 * @param chunks    number of chunks currently held
+	 * @param bytes     number of decompressed bytes currently held
+	 */
+	record Stats(long hits, long misses, long evictions, int chunks, long bytes) {
+
+		@Override
+		public String toString() {
+			return String.format("ChunkCache.Stats [hits=%s, misses=%s, evictions=%s, chunks=%s, bytes=%s]",
+								 hits, misses, evictions, chunks, bytes);
+		}
+	}
+}
@@ -5,25 +5,40 @@ import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
-
-import org.anarres.lzo.LzoAlgorithm;
-import org.anarres.lzo.LzoConstraint;
-import org.anarres.lzo.LzoDecompressor;
-import org.anarres.lzo.LzoLibrary;
-import org.anarres.lzo.lzo_uintp;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import net.shrimpworks.unreal.packages.PackageReader;
 
 /**
  * A {@link SeekableByteChannel} implementation that wraps a byte[].
+ * <p>
+ * The byte[] is populated by decompressing the compressed blocks which
+ * make up a compressed chunk. Blocks are decompressed lazily, only once a
+ * read operation touches the range of data they contain.
  */
 public class ChunkChannel implements SeekableByteChannel {
 
+	private static final int CHUNK_HEADER_SIZE = 16; // signature, block size, compressed size, uncompressed size
+
 	public final CompressedChunk chunk;
 
 	private final PackageReader reader;
 	private final int[] blockSizes;
+	private final BlockDecompressor decompressor;
+
+	// file positions of each compressed block
+	private final long[] blockOffsets;
+	// uncompressed positions of each block within the chunk, with a final entry for the end of the last block
+	private final int[] blockStarts;
+	private final AtomicIntegerArray inflated;
+	private final Object[] blockLocks;
 
 	private final byte[] data;
 	private final AtomicBoolean closed = new AtomicBoolean();
@@ -44,6 +59,13 @@ public class ChunkChannel implements SeekableByteChannel {
 		this.data = data;
 		this.size = data.length;
 
+		int blockCount = blockSizes.length / 2;
+		this.blockOffsets = new long[blockCount];
+		this.blockStarts = new int[blockCount + 1];
+		this.inflated = new AtomicIntegerArray(blockCount);
+		this.blockLocks = new Object[blockCount];
+		this.decompressor = BlockDecompressor.forFormat(chunk.compressionFormat);
+
 		open();
 	}
 
@@ -57,28 +79,145 @@ public class ChunkChannel implements SeekableByteChannel {
 	}
 
 	private void open() {
-		if (chunk.compressionFormat != CompressionFormat.LZO) {
-			throw new IllegalArgumentException("Unsupported compression format " + chunk.compressionFormat.name());
+		// compressed block data follows the chunk header and block size table
+		long offset = chunk.compressedOffset + CHUNK_HEADER_SIZE + (blockSizes.length * 4L);
+		int start = 0;
+		for (int i = 0; i < blockOffsets.length; i++) {
+			blockOffsets[i] = offset;
+			blockStarts[i] = start;
+			blockLocks[i] = new Object();
+			offset += blockSizes[i * 2];
+			start += blockSizes[(i * 2) + 1];
+		}
+		blockStarts[blockOffsets.length] = start;
+	}
+
+	/**
+	 * Get the number of blocks which have been decompressed so far.
+	 *
+	 * @return decompressed block count
+	 */
+	public int inflatedBlocks() {
+		int count = 0;
+		for (int i = 0; i < inflated.length(); i++) {
+			if (inflated.get(i) != 0) count++;
 		}
+		return count;
+	}
 
-		LzoDecompressor dec = LzoLibrary.getInstance().newDecompressor(LzoAlgorithm.LZO1X, LzoConstraint.SAFETY);
+	/**
+	 * Decompress all blocks which have not yet been decompressed, in
+	 * parallel, using the provided executor.
+	 * <p>
+	 * Blocks are independent of each other, and are decompressed directly
+	 * into their final positions within the chunk. This method blocks until
+	 * all blocks have been decompressed.
+	 *
+	 * @param executor executor to decompress blocks with
+	 */
+	public void inflate(Executor executor) {
+		inflate(executor, reader);
+	}
 
+	/**
+	 * Decompress all blocks which have not yet been decompressed, in
+	 * parallel, using the provided executor, reading compressed blocks via
+	 * the provided reader.
+	 *
+	 * @param executor executor to decompress blocks with
+	 * @param source   reader over the same package file
+	 * @see #inflate(Executor)
+	 */
+	public void inflate(Executor executor, PackageReader source) {
 		try {
-			for (int i = 0; i < blockSizes.length; i += 2) {
-				byte[] in = new byte[blockSizes[i]];
-				byte[] out = new byte[blockSizes[i + 1]];
-				reader.readBytes(in, 0, in.length);
-
-				int lzoRes = dec.decompress(in, 0, in.length, out, 0, new lzo_uintp(out.length));
-				if (lzoRes != 0) throw new IllegalStateException("LZO read error: " + lzoRes);
-				write(ByteBuffer.wrap(out));
-			}
-
-			position(0);
-		} catch (IOException ex) {
-			throw new IllegalStateException("Failed to construct decompressed data channel", ex);
+			inflateAsync(executor, source).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException)e.getCause();
+			throw e;
+		}
+	}
+
+	/**
+	 * Begin decompressing all blocks which have not yet been decompressed, in
+	 * parallel, using the provided executor.
+	 *
+	 * @param executor executor to decompress blocks with
+	 * @return a future which completes once all blocks have been decompressed
+	 */
+	public CompletableFuture<Void> inflateAsync(Executor executor) {
+		return inflateAsync(executor, reader);
+	}
+
+	/**
+	 * Begin decompressing all blocks which have not yet been decompressed, in
+	 * parallel, using the provided executor, reading compressed blocks via
+	 * the provided reader.
+	 *
+	 * @param executor executor to decompress blocks with
+	 * @param source   reader over the same package file
+	 * @return a future which completes once all blocks have been decompressed
+	 */
+	public CompletableFuture<Void> inflateAsync(Executor executor, PackageReader source) {
+		List<CompletableFuture<Void>> pending = new ArrayList<>();
+		for (int i = 0; i < blockOffsets.length; i++) {
+			if (inflated.get(i) != 0) continue;
+			final int block = i;
+			pending.add(CompletableFuture.runAsync(() -> inflate(block, source), executor));
 		}
 
+		return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * Decompress all blocks which have not yet been decompressed on the
+	 * calling thread, and return the entire decompressed content of the chunk.
+	 * <p>
+	 * The returned array is this channel's own storage, rather than a copy,
+	 * so should not be modified while the channel remains in use.
+	 *
+	 * @return decompressed chunk content
+	 */
+	public byte[] content() {
+		inflate(0, size, reader);
+		return data;
+	}
+
+	/**
+	 * Make sure all blocks containing data in the provided range have been
+	 * decompressed.
+	 */
+	private void inflate(int from, int length, PackageReader source) {
+		if (length <= 0) return;
+
+		int first = blockAt(from);
+		int last = blockAt(from + length - 1);
+		for (int i = first; i <= last; i++) {
+			inflate(i, source);
+		}
+	}
+
+	private void inflate(int block, PackageReader source) {
+		if (inflated.get(block) != 0) return;
+
+		synchronized (blockLocks[block]) {
+			if (inflated.get(block) != 0) return;
+
+			// decompress straight into the block's final position
+			decompressor.decompress(source, blockOffsets[block], blockSizes[block * 2],
+									data, blockStarts[block], blockSizes[(block * 2) + 1]);
+
+			inflated.set(block, 1);
+		}
+	}
+
+	/**
+	 * Find the block containing the provided uncompressed position, by binary
+	 * search over the block start positions.
+	 */
+	private int blockAt(int pos) {
+		int idx = Arrays.binarySearch(blockStarts, 0, blockOffsets.length, pos);
+		// not an exact match on a block start, so we're within the block preceding the insertion point
+		return idx >= 0 ? idx : -idx - 2;
 	}
 
 	@Override
@@ -129,17 +268,52 @@ public class ChunkChannel implements SeekableByteChannel {
 
 	@Override
 	public int read(ByteBuffer buf) throws IOException {
+		int read = read(buf, position);
+		if (read > 0) position += read;
+		return read;
+	}
+
+	/**
+	 * Reads a sequence of bytes from this channel into the given buffer,
+	 * starting at the given position.
+	 * <p>
+	 * This method does not modify this channel's position, and may be used
+	 * concurrently by several readers sharing this channel.
+	 *
+	 * @param buf      the buffer into which bytes are to be transferred
+	 * @param position the position at which the transfer is to begin
+	 * @return the number of bytes read, possibly zero, or -1 if the given
+	 * position is greater than or equal to the channel's current size
+	 * @throws IOException the channel is closed
+	 */
+	public int read(ByteBuffer buf, long position) throws IOException {
+		return read(buf, position, reader);
+	}
+
+	/**
+	 * Reads a sequence of bytes from this channel into the given buffer,
+	 * starting at the given position, reading any compressed blocks which
+	 * still need to be decompressed via the provided reader.
+	 * <p>
+	 * This allows a chunk held in a shared {@link ChunkCache} to be read by
+	 * readers other than the one which originally loaded it, without
+	 * depending on that reader remaining open.
+	 *
+	 * @param buf      the buffer into which bytes are to be transferred
+	 * @param position the position at which the transfer is to begin
+	 * @param source   reader over the same package file, used to read
+	 *                 compressed blocks
+	 * @return the number of bytes read, possibly zero, or -1 if the given
+	 * position is greater than or equal to the channel's current size
+	 * @throws IOException the channel is closed
+	 */
+	public int read(ByteBuffer buf, long position, PackageReader source) throws IOException {
 		ensureOpen();
-		int wanted = buf.remaining();
-		int possible = size - position;
-		if (possible <= 0) {
-			return -1;
-		}
-		if (wanted > possible) {
-			wanted = possible;
-		}
-		buf.put(data, position, wanted);
-		position += wanted;
+		if (position < 0L) throw new IllegalArgumentException("Negative position");
+		if (position >= size) return -1;
+		int wanted = Math.min(buf.remaining(), size - (int)position);
+		inflate((int)position, wanted, source);
+		buf.put(data, (int)position, wanted);
 		return wanted;
 	}
 
@@ -0,0 +1,53 @@
+package net.shrimpworks.unreal.packages.compression;
+
+import org.anarres.lzo.LzoAlgorithm;
+import org.anarres.lzo.LzoConstraint;
+import org.anarres.lzo.LzoDecompressor;
+import org.anarres.lzo.LzoLibrary;
+import org.anarres.lzo.lzo_uintp;
+
+import net.shrimpworks.unreal.packages.PackageReader;
+
+/**
+ * LZO block decompressor.
+ * <p>
+ * Each thread keeps its own decompressor and compressed input scratch
+ * buffer, so decompressing a block allocates nothing once a thread has
+ * seen a block at least as large.
+ */
+final class LzoBlockDecompressor implements BlockDecompressor {
+
+	private static final int INITIAL_SCRATCH = 1024 * 128; // UE3 uses 128k blocks by default
+
+	static final LzoBlockDecompressor INSTANCE = new LzoBlockDecompressor();
+
+	private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+	private LzoBlockDecompressor() {
+	}
+
+	@Override
+	public void decompress(PackageReader source, long filePos, int compressedSize, byte[] dest, int destOffset, int uncompressedSize) {
+		State s = state.get();
+
+		byte[] in = s.scratch(compressedSize);
+		source.readRaw(filePos, in, 0, compressedSize);
+
+		s.outLength.value = uncompressedSize;
+		int lzoRes = s.decompressor.decompress(in, 0, compressedSize, dest, destOffset, s.outLength);
+		if (lzoRes != 0) throw new IllegalStateException("LZO read error: " + lzoRes);
+	}
+
+	private static class State {
+
+		private final LzoDecompressor decompressor = LzoLibrary.getInstance().newDecompressor(LzoAlgorithm.LZO1X,
+																									LzoConstraint.SAFETY);
+		private final lzo_uintp outLength = new lzo_uintp();
+		private byte[] scratch = new byte[INITIAL_SCRATCH];
+
+		private byte[] scratch(int size) {
+			if (scratch.length < size) scratch = new byte[size];
+			return scratch;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package net.shrimpworks.unreal.packages.compression;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import net.shrimpworks.unreal.packages.PackageReader;
+
+/**
+ * zlib block decompressor.
+ * <p>
+ * Inflaters hold native memory, and are relatively costly to create, so a
+ * pool of them is reused between blocks. Compressed input is read into a
+ * per-thread direct buffer, which the inflater consumes without further
+ * copying.
+ */
+final class ZlibBlockDecompressor implements BlockDecompressor {
+
+	private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+	private static final int INITIAL_SCRATCH = 1024 * 128; // UE3 uses 128k blocks by default
+
+	static final ZlibBlockDecompressor INSTANCE = new ZlibBlockDecompressor();
+
+	private final BlockingQueue<Inflater> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+	private final ThreadLocal<ByteBuffer> scratch = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(INITIAL_SCRATCH));
+
+	private ZlibBlockDecompressor() {
+	}
+
+	@Override
+	public void decompress(PackageReader source, long filePos, int compressedSize, byte[] dest, int destOffset, int uncompressedSize) {
+		ByteBuffer in = scratch.get();
+		if (in.capacity() < compressedSize) {
+			in = ByteBuffer.allocateDirect(compressedSize);
+			scratch.set(in);
+		}
+		in.clear().limit(compressedSize);
+		source.readRaw(filePos, in);
+		in.flip();
+
+		Inflater inflater = acquire();
+		try {
+			inflater.setInput(in);
+			int read = 0;
+			while (read < uncompressedSize && !inflater.finished()) {
+				int n = inflater.inflate(dest, destOffset + read, uncompressedSize - read);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+				read += n;
+			}
+
+			if (read != uncompressedSize) {
+				throw new IllegalStateException("zlib read error: expected " + uncompressedSize + " bytes, got " + read);
+			}
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("zlib read error: " + e.getMessage(), e);
+		} finally {
+			release(inflater);
+		}
+	}
+
+	private Inflater acquire() {
+		Inflater inflater = pool.poll();
+		return inflater != null ? inflater : new Inflater();
+	}
+
+	private void release(Inflater inflater) {
+		inflater.reset();
+		// the pool is full, so let this one go
+		if (!pool.offer(inflater)) inflater.end();
+	}
+}
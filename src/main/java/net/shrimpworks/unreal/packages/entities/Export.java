@@ -1,9 +1,7 @@
 package net.shrimpworks.unreal.packages.entities;
 
-import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import net.shrimpworks.unreal.packages.Package;
 
@@ -45,9 +43,6 @@ public abstract class Export implements Named {
 
 	public final Map<Name, ObjectReference> components;
 
-	// cached collection of children
-	private Set<Export> children;
-
 	Export(Package pkg, int index, ObjectReference classIndex, ObjectReference classSuperIndex, ObjectReference groupIndex, Name name,
 		   long flags, int size, int pos, Map<Name, ObjectReference> components) {
 		this.pkg = pkg;
@@ -83,11 +78,29 @@ public abstract class Export implements Named {
 	/**
 	 * Get exported groups, objects and properties under this export.
 	 *
-	 * @return child exports
+	 * @return child exports, ordered by export index
+	 * @see Package#childExports(int)
 	 */
 	public Set<Export> children() {
-		if (children == null) children = Arrays.stream(pkg.exports).filter(e -> e.groupIndex.get(true) == this).collect(Collectors.toSet());
-		return children;
+		return new ListSet<>(pkg.childExports(index));
+	}
+
+	/**
+	 * Exports are equal if they are the same type, and represent the same
+	 * entry in the same package, since several instances may exist for a
+	 * single entry.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		Export other = (Export)o;
+		return index == other.index && pkg == other.pkg;
+	}
+
+	@Override
+	public int hashCode() {
+		return (System.identityHashCode(pkg) * 31) + index;
 	}
 
 	@Override
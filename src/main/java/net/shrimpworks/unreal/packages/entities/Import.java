@@ -1,8 +1,6 @@
 package net.shrimpworks.unreal.packages.entities;
 
-import java.util.Arrays;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import net.shrimpworks.unreal.packages.Package;
 
@@ -36,9 +34,6 @@ public class Import implements Named {
 	 */
 	public final Name name;
 
-	// cached collection of children
-	private Set<Import> children;
-
 	public Import(Package pkg, int index, Name classPackage, Name className, ObjectReference packageIndex, Name name) {
 		this.pkg = pkg;
 		this.index = index;
@@ -53,14 +48,39 @@ public class Import implements Named {
 		return name;
 	}
 
+	/**
+	 * Get the index of this import within the package's imports table.
+	 *
+	 * @return import index
+	 */
+	public int index() {
+		return index;
+	}
+
 	/**
 	 * Get imported groups and objects under this one.
 	 *
-	 * @return child imports
+	 * @return child imports, ordered by import index
+	 * @see Package#childImports(int)
 	 */
 	public Set<Import> children() {
-		if (children == null) children = Arrays.stream(pkg.imports).filter(i -> i.packageIndex.get() == this).collect(Collectors.toSet());
-		return children;
+		return new ListSet<>(pkg.childImports(index));
+	}
+
+	/**
+	 * Imports are equal if they represent the same entry in the same
+	 * package, since several instances may exist for a single entry.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof Import other)) return false;
+		return index == other.index && pkg == other.pkg;
+	}
+
+	@Override
+	public int hashCode() {
+		return (System.identityHashCode(pkg) * 31) + index;
 	}
 
 	@Override
@@ -0,0 +1,35 @@
+package net.shrimpworks.unreal.packages.entities;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An unmodifiable set view over a list of distinct elements, iterating in
+ * the order of the list.
+ *
+ * @param <T> element type
+ */
+class ListSet<T> extends AbstractSet<T> {
+
+	private final List<T> elements;
+
+	ListSet(List<T> elements) {
+		this.elements = elements;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return elements.iterator();
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return elements.contains(o);
+	}
+}
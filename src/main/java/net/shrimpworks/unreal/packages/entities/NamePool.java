@@ -0,0 +1,103 @@
+package net.shrimpworks.unreal.packages.entities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of canonical {@link Name} instances, which may be shared between
+ * any number of packages.
+ * <p>
+ * Most packages contain many of the same names, such as "None", "Core",
+ * "Engine", and common class and property names. When many packages are
+ * held in memory, using a shared pool means each distinct name, and its
+ * string, is held only once rather than once per package (or for Unreal
+ * Engine 3 name references, once per reference).
+ * <p>
+ * Names are canonical per combination of string, number and flags. Their
+ * strings are also shared between names which differ only by number or
+ * flags.
+ * <p>
+ * Pools never discard names by themselves, so a pool should be
+ * {@link #clear() cleared} or discarded if the set of packages it serves
+ * changes significantly over time.
+ * <p>
+ * Pools are safe for concurrent use.
+ */
+public final class NamePool {
+
+	private static final NamePool GLOBAL = new NamePool();
+
+	private final Map<Key, Name> names = new ConcurrentHashMap<>();
+	private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a new, empty name pool.
+	 * <p>
+	 * Packages may share their own pool, rather than the {@link #global()}
+	 * pool, so names may be discarded along with the packages using them.
+	 */
+	public NamePool() {
+	}
+
+	/**
+	 * Get the JVM-wide shared name pool.
+	 *
+	 * @return global name pool
+	 */
+	public static NamePool global() {
+		return GLOBAL;
+	}
+
+	/**
+	 * Get the canonical name for the provided values.
+	 *
+	 * @param name   name string
+	 * @param number name number
+	 * @param flags  name flags
+	 * @return canonical name
+	 */
+	public Name intern(String name, int number, long flags) {
+		Name existing = names.get(new Key(name, number, flags));
+		if (existing != null) return existing;
+
+		String canonical = strings.computeIfAbsent(name, s -> s);
+		return names.computeIfAbsent(new Key(canonical, number, flags), k -> new Name(k.name, k.number, k.flags));
+	}
+
+	/**
+	 * Get the canonical instance of the provided name.
+	 *
+	 * @param name name to intern
+	 * @return canonical name
+	 */
+	public Name intern(Name name) {
+		return intern(name.name, name.number, name.flags);
+	}
+
+	/**
+	 * Get the number of distinct names held.
+	 *
+	 * @return number of names
+	 */
+	public int size() {
+		return names.size();
+	}
+
+	/**
+	 * Remove all names from the pool.
+	 * <p>
+	 * Names already handed out remain valid, but will not be identical to
+	 * names interned subsequently.
+	 */
+	public void clear() {
+		names.clear();
+		strings.clear();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("NamePool [names=%s, strings=%s]", names.size(), strings.size());
+	}
+
+	private record Key(String name, int number, long flags) {}
+}
@@ -28,12 +28,18 @@ public class ObjectReference {
 
 	public Named get(boolean simpleExports) {
 		if (index < 0) {
-			return pkg.imports[(-index) - 1];
+			return pkg.importAt((-index) - 1);
 		} else if (index > 0) {
 			// find most specific match
-			if (!simpleExports && pkg.objects[index - 1] != null) return pkg.objects[index - 1];
-			else if (!simpleExports && pkg.fields[index - 1] != null) return pkg.fields[index - 1];
-			else return pkg.exports[index - 1];
+			if (simpleExports) return pkg.exportAt(index - 1);
+
+			ExportedObject object = pkg.objectAt(index - 1);
+			if (object != null) return object;
+
+			ExportedField field = pkg.fieldAt(index - 1);
+			if (field != null) return field;
+
+			return pkg.exportAt(index - 1);
 		} else {
 			return Named.NULL;
 		}
@@ -0,0 +1,33 @@
+package net.shrimpworks.unreal.packages.entities.objects;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * An unmodifiable list view over a list which is only read when the view
+ * is first accessed.
+ * <p>
+ * Used to keep list fields of objects whose content is read on demand.
+ *
+ * @param <T> element type
+ */
+class LazyList<T> extends AbstractList<T> implements RandomAccess {
+
+	private final Supplier<List<T>> source;
+
+	LazyList(Supplier<List<T>> source) {
+		this.source = source;
+	}
+
+	@Override
+	public T get(int index) {
+		return source.get().get(index);
+	}
+
+	@Override
+	public int size() {
+		return source.get().size();
+	}
+}
@@ -55,64 +55,267 @@ import net.shrimpworks.unreal.packages.entities.properties.Property;
  *   - [int] root outside (??)
  *   - [int] linked (??)
  * </pre>
+ * <p>
+ * The model's geometry is not read until any part of it is requested, other
+ * than its bounding box and bounding sphere, which are read with the model.
+ * <p>
+ * The public geometry list fields are retained for compatibility, and are
+ * also read on demand, but the accessor methods should be used instead.
+ * The <code>numSharedSides</code>, <code>polys</code>,
+ * <code>rootOutside</code> and <code>linked</code> values are only
+ * available via their accessor methods.
  */
 public class Model extends Object {
 
 	public final Bound boundingBox;
 	public final Sphere boundingSphere;
 
+	/**
+	 * @deprecated use {@link #vectors()}
+	 */
+	@Deprecated
 	public final List<Vector> vectors;
+	/**
+	 * @deprecated use {@link #points()}
+	 */
+	@Deprecated
 	public final List<Vector> points;
+	/**
+	 * @deprecated use {@link #nodes()}
+	 */
+	@Deprecated
 	public final List<Node> nodes;
+	/**
+	 * @deprecated use {@link #surfaces()}
+	 */
+	@Deprecated
 	public final List<Surface> surfaces;
+	/**
+	 * @deprecated use {@link #verts()}
+	 */
+	@Deprecated
 	public final List<Vert> verts;
 
-	public final int numSharedSides;
-
+	/**
+	 * @deprecated use {@link #zones()}
+	 */
+	@Deprecated
 	public final List<Zone> zones;
 
-	public final ObjectReference polys;
-
+	/**
+	 * @deprecated use {@link #lightMaps()}
+	 */
+	@Deprecated
 	public final List<LightMap> lightMaps;
+	/**
+	 * @deprecated use {@link #lightBits()}
+	 */
+	@Deprecated
 	public final List<Byte> lightBits;
+	/**
+	 * @deprecated use {@link #bounds()}
+	 */
+	@Deprecated
 	public final List<Bound> bounds;
+	/**
+	 * @deprecated use {@link #leafHulls()}
+	 */
+	@Deprecated
 	public final List<Integer> leafHulls;
+	/**
+	 * @deprecated use {@link #leaves()}
+	 */
+	@Deprecated
 	public final List<Leaf> leaves;
+	/**
+	 * @deprecated use {@link #lights()}
+	 */
+	@Deprecated
 	public final List<ObjectReference> lights;
 
-	public final int rootOutside;
-	public final int linked;
+	// the model's geometry, read when first needed
+	private volatile Body body;
 
 	public Model(Package pkg, PackageReader reader, Export export, ObjectHeader header, Collection<Property> properties, int dataStart) {
 		super(pkg, reader, export, header, properties, dataStart);
 
-		reader.moveTo(dataStart);
-		reader.ensureRemaining(64);
+		// the bounds are small and at the start of the model's data, so are cheap to read with the model
+		PackageReader boundsReader = reader.cursor();
+		boundsReader.moveTo(dataStart);
+		boundsReader.ensureRemaining(64);
+		this.boundingBox = new Bound(boundsReader);
+		this.boundingSphere = new Sphere(boundsReader);
+
+		this.vectors = new LazyList<>(() -> body().vectors);
+		this.points = new LazyList<>(() -> body().points);
+		this.nodes = new LazyList<>(() -> body().nodes);
+		this.surfaces = new LazyList<>(() -> body().surfaces);
+		this.verts = new LazyList<>(() -> body().verts);
+		this.zones = new LazyList<>(() -> body().zones);
+		this.lightMaps = new LazyList<>(() -> body().lightMaps);
+		this.lightBits = new LazyList<>(() -> body().lightBits);
+		this.bounds = new LazyList<>(() -> body().bounds);
+		this.leafHulls = new LazyList<>(() -> body().leafHulls);
+		this.leaves = new LazyList<>(() -> body().leaves);
+		this.lights = new LazyList<>(() -> body().lights);
+	}
+
+	public Bound boundingBox() {
+		return boundingBox;
+	}
+
+	public Sphere boundingSphere() {
+		return boundingSphere;
+	}
+
+	public List<Vector> vectors() {
+		return body().vectors;
+	}
+
+	public List<Vector> points() {
+		return body().points;
+	}
+
+	public List<Node> nodes() {
+		return body().nodes;
+	}
+
+	public List<Surface> surfaces() {
+		return body().surfaces;
+	}
+
+	public List<Vert> verts() {
+		return body().verts;
+	}
+
+	public int numSharedSides() {
+		return body().numSharedSides;
+	}
+
+	public List<Zone> zones() {
+		return body().zones;
+	}
+
+	public ObjectReference polys() {
+		return body().polys;
+	}
+
+	public List<LightMap> lightMaps() {
+		return body().lightMaps;
+	}
+
+	public List<Byte> lightBits() {
+		return body().lightBits;
+	}
+
+	public List<Bound> bounds() {
+		return body().bounds;
+	}
+
+	public List<Integer> leafHulls() {
+		return body().leafHulls;
+	}
+
+	public List<Leaf> leaves() {
+		return body().leaves;
+	}
 
-		this.boundingBox = new Bound(reader);
-		this.boundingSphere = new Sphere(reader);
+	public List<ObjectReference> lights() {
+		return body().lights;
+	}
 
-		int vectorCount = reader.readIndex();
-		this.vectors = new ArrayList<>(vectorCount);
-		for (int i = 0; i < vectorCount; i++) {
-			reader.ensureRemaining(16);
-			vectors.add(new Vector(reader));
+	public int rootOutside() {
+		return body().rootOutside;
+	}
+
+	public int linked() {
+		return body().linked;
+	}
+
+	/**
+	 * Read the model's geometry, if it has not been read already.
+	 * <p>
+	 * Model data can be very large, so is only read once any part of it
+	 * is requested, allowing a model's properties to be inspected cheaply.
+	 */
+	private Body body() {
+		Body b = body;
+		if (b == null) {
+			synchronized (this) {
+				if (body == null) body = new Body(pkg, reader.cursor(), dataStart);
+				b = body;
+			}
 		}
+		return b;
+	}
 
-		int pointCount = reader.readIndex();
-		this.points = new ArrayList<>(pointCount);
-		for (int i = 0; i < pointCount; i++) {
-			reader.ensureRemaining(16);
-			points.add(new Vector(reader));
+	@Override
+	public String toString() {
+		// only describe geometry which has already been read
+		Body b = body;
+		if (b == null) {
+			return String.format("Model [boundingBox=%s, boundingSphere=%s, export=%s, properties=%s]",
+								 boundingBox, boundingSphere, export, properties);
 		}
+		return String.format(
+				"Model [boundingBox=%s, boundingSphere=%s, vectors=%s, points=%s, nodes=%s, " +
+				"surfaces=%s, export=%s, properties=%s]",
+				boundingBox, boundingSphere, b.vectors, b.points, b.nodes, b.surfaces, export, properties);
+	}
+
+	private static class Body {
+
+		private final List<Vector> vectors;
+		private final List<Vector> points;
+		private final List<Node> nodes;
+		private final List<Surface> surfaces;
+		private final List<Vert> verts;
 
-		int nodeCount = reader.readIndex();
-		this.nodes = new ArrayList<>(nodeCount);
-		for (int i = 0; i < nodeCount; i++) {
+		private final int numSharedSides;
+
+		private final List<Zone> zones;
+
+		private final ObjectReference polys;
+
+		private final List<LightMap> lightMaps;
+		private final List<Byte> lightBits;
+		private final List<Bound> bounds;
+		private final List<Integer> leafHulls;
+		private final List<Leaf> leaves;
+		private final List<ObjectReference> lights;
+
+		private final int rootOutside;
+		private final int linked;
+
+		private Body(Package pkg, PackageReader reader, int dataStart) {
+			reader.moveTo(dataStart);
 			reader.ensureRemaining(64);
-			if (pkg.version < 117) nodes.add(new Node(reader));
+
+			// skipping: bounding box and sphere, already read with the model
+			new Bound(reader);
+			new Sphere(reader);
+
+			int vectorCount = reader.readIndex();
+			this.vectors = new ArrayList<>(vectorCount);
+			for (int i = 0; i < vectorCount; i++) {
+				reader.ensureRemaining(16);
+				vectors.add(new Vector(reader));
+			}
+
+			int pointCount = reader.readIndex();
+			this.points = new ArrayList<>(pointCount);
+			for (int i = 0; i < pointCount; i++) {
+				reader.ensureRemaining(16);
+				points.add(new Vector(reader));
+			}
+
+			int nodeCount = reader.readIndex();
+			this.nodes = new ArrayList<>(nodeCount);
+			for (int i = 0; i < nodeCount; i++) {
+				reader.ensureRemaining(64);
+				if (pkg.version < 117) nodes.add(new Node(reader));
 //			else {
-				// XXX unknown data structures for UE2
+					// XXX unknown data structures for UE2
 //				new Plane(reader);
 //				reader.readLong();
 //				reader.readInt(); reader.readInt();
@@ -123,15 +326,15 @@ public class Model extends Object {
 //				reader.readLong(); reader.readLong();
 //				reader.readInt();
 //			}
-		}
+			}
 
-		int surfCount = reader.readIndex();
-		this.surfaces = new ArrayList<>(surfCount);
-		for (int i = 0; i < surfCount; i++) {
-			reader.ensureRemaining(32);
-			if (pkg.version < 117) surfaces.add(new Surface(pkg, reader));
+			int surfCount = reader.readIndex();
+			this.surfaces = new ArrayList<>(surfCount);
+			for (int i = 0; i < surfCount; i++) {
+				reader.ensureRemaining(32);
+				if (pkg.version < 117) surfaces.add(new Surface(pkg, reader));
 //			else {
-				// XXX unknown data structures for UE2
+					// XXX unknown data structures for UE2
 //				reader.readIndex();
 //				reader.readInt();
 //				reader.readIndex();reader.readIndex();reader.readIndex();reader.readIndex();reader.readIndex();
@@ -143,83 +346,76 @@ public class Model extends Object {
 //				iBrushPoly INDEX
 //				5x FLOAT
 //			}
-		}
+			}
 
-		int vertCount = reader.readIndex();
-		this.verts = new ArrayList<>(vertCount);
-		for (int i = 0; i < vertCount; i++) {
-			reader.ensureRemaining(8);
-			verts.add(new Vert(reader));
-		}
+			int vertCount = reader.readIndex();
+			this.verts = new ArrayList<>(vertCount);
+			for (int i = 0; i < vertCount; i++) {
+				reader.ensureRemaining(8);
+				verts.add(new Vert(reader));
+			}
 
-		this.numSharedSides = reader.readInt();
+			this.numSharedSides = reader.readInt();
 
-		int zoneCount = reader.readInt();
-		this.zones = new ArrayList<>(zoneCount);
-		for (int i = 0; i < zoneCount; i++) {
-			reader.ensureRemaining(32);
-			zones.add(new Zone(pkg, reader));
+			int zoneCount = reader.readInt();
+			this.zones = new ArrayList<>(zoneCount);
+			for (int i = 0; i < zoneCount; i++) {
+				reader.ensureRemaining(32);
+				zones.add(new Zone(pkg, reader));
 
-			// extraneous data
-			if (pkg.version < 63) reader.readFloat(); // last render time (?)
-			if (pkg.version >= 117) reader.readInt(); // unknown
-		}
+				// extraneous data
+				if (pkg.version < 63) reader.readFloat(); // last render time (?)
+				if (pkg.version >= 117) reader.readInt(); // unknown
+			}
 
-		this.polys = new ObjectReference(pkg, reader.readIndex());
+			this.polys = new ObjectReference(pkg, reader.readIndex());
 
-		int lightMapCount = reader.readIndex();
-		this.lightMaps = new ArrayList<>(lightMapCount);
-		for (int i = 0; i < lightMapCount; i++) {
-			reader.ensureRemaining(32);
-			lightMaps.add(new LightMap(pkg, reader));
-		}
+			int lightMapCount = reader.readIndex();
+			this.lightMaps = new ArrayList<>(lightMapCount);
+			for (int i = 0; i < lightMapCount; i++) {
+				reader.ensureRemaining(32);
+				lightMaps.add(new LightMap(pkg, reader));
+			}
 
-		int lightBitCount = reader.readIndex();
-		this.lightBits = new ArrayList<>(lightBitCount);
-		for (int i = 0; i < lightBitCount; i++) {
-			reader.ensureRemaining(1);
-			lightBits.add(reader.readByte());
-		}
+			int lightBitCount = reader.readIndex();
+			this.lightBits = new ArrayList<>(lightBitCount);
+			for (int i = 0; i < lightBitCount; i++) {
+				reader.ensureRemaining(1);
+				lightBits.add(reader.readByte());
+			}
 
-		int boundCount = reader.readIndex();
-		this.bounds = new ArrayList<>(boundCount);
-		for (int i = 0; i < boundCount; i++) {
-			reader.ensureRemaining(25);
-			bounds.add(new Bound(reader));
-		}
+			int boundCount = reader.readIndex();
+			this.bounds = new ArrayList<>(boundCount);
+			for (int i = 0; i < boundCount; i++) {
+				reader.ensureRemaining(25);
+				bounds.add(new Bound(reader));
+			}
 
-		int leafHullsCount = reader.readIndex();
-		this.leafHulls = new ArrayList<>(leafHullsCount);
-		for (int i = 0; i < leafHullsCount; i++) {
-			reader.ensureRemaining(4);
-			leafHulls.add(reader.readInt());
-		}
+			int leafHullsCount = reader.readIndex();
+			this.leafHulls = new ArrayList<>(leafHullsCount);
+			for (int i = 0; i < leafHullsCount; i++) {
+				reader.ensureRemaining(4);
+				leafHulls.add(reader.readInt());
+			}
 
-		int leavesCount = reader.readIndex();
-		this.leaves = new ArrayList<>(leavesCount);
-		for (int i = 0; i < leavesCount; i++) {
-			reader.ensureRemaining(32);
-			leaves.add(new Leaf(pkg, reader));
-		}
+			int leavesCount = reader.readIndex();
+			this.leaves = new ArrayList<>(leavesCount);
+			for (int i = 0; i < leavesCount; i++) {
+				reader.ensureRemaining(32);
+				leaves.add(new Leaf(pkg, reader));
+			}
 
-		int lightsCount = reader.readIndex();
-		this.lights = new ArrayList<>(lightsCount);
-		for (int i = 0; i < lightsCount; i++) {
-			reader.ensureRemaining(2);
-			lights.add(new ObjectReference(pkg, reader.readIndex()));
-		}
+			int lightsCount = reader.readIndex();
+			this.lights = new ArrayList<>(lightsCount);
+			for (int i = 0; i < lightsCount; i++) {
+				reader.ensureRemaining(2);
+				lights.add(new ObjectReference(pkg, reader.readIndex()));
+			}
 
-		reader.ensureRemaining(8);
-
-		this.rootOutside = reader.readInt();
-		this.linked = reader.readInt();
-	}
+			reader.ensureRemaining(8);
 
-	@Override
-	public String toString() {
-		return String.format(
-				"Model [boundingBox=%s, boundingSphere=%s, vectors=%s, points=%s, nodes=%s, " +
-				"surfaces=%s, export=%s, properties=%s]",
-				boundingBox, boundingSphere, vectors, points, nodes, surfaces, export, properties);
+			this.rootOutside = reader.readInt();
+			this.linked = reader.readInt();
+		}
 	}
 }
@@ -5,6 +5,7 @@ import java.util.Collection;
 import net.shrimpworks.unreal.packages.Package;
 import net.shrimpworks.unreal.packages.PackageReader;
 import net.shrimpworks.unreal.packages.entities.Export;
+import net.shrimpworks.unreal.packages.entities.properties.LazyPropertyList;
 import net.shrimpworks.unreal.packages.entities.properties.Property;
 
 /**
@@ -14,11 +15,13 @@ import net.shrimpworks.unreal.packages.entities.properties.Property;
  * contents in usable formats.
  * <p>
  * Implementations should not change the constructor signature, and should be
- * represented by an additional value in the {@link ObjectFactory} enum.
+ * registered with the {@link ObjectFactory}, either as an additional value in
+ * its enum, or via an {@link ObjectProvider}.
  */
 public class Object {
 
 	final Package pkg;
+	// the package's shared reader - use a cursor from this reader to read object data
 	final PackageReader reader;
 
 	public final Export export;
@@ -39,11 +42,16 @@ public class Object {
 
 	/**
 	 * Convenience to obtain a property by name.
+	 * <p>
+	 * When properties are read lazily, only the property found is read.
 	 *
 	 * @param propertyName name of property
 	 * @return the property, or null if not found
+	 * @see Package#setLazyProperties(boolean)
 	 */
 	public Property property(String propertyName) {
+		if (properties instanceof LazyPropertyList lazy) return lazy.property(propertyName);
+
 		for (Property p : properties) {
 			if (p.name.name.equals(propertyName)) {
 				return p;
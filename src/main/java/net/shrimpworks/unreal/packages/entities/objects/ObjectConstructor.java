@@ -0,0 +1,34 @@
+package net.shrimpworks.unreal.packages.entities.objects;
+
+import java.util.Collection;
+
+import net.shrimpworks.unreal.packages.Package;
+import net.shrimpworks.unreal.packages.PackageReader;
+import net.shrimpworks.unreal.packages.entities.Export;
+import net.shrimpworks.unreal.packages.entities.properties.Property;
+
+/**
+ * Creates instances of a specific object implementation.
+ * <p>
+ * Since object implementations share the same constructor signature, an
+ * implementation's constructor reference may be used directly, for example
+ * <code>Texture::new</code>.
+ *
+ * @see ObjectFactory#register(String, ObjectConstructor)
+ */
+@FunctionalInterface
+public interface ObjectConstructor {
+
+	/**
+	 * Create a new object.
+	 *
+	 * @param pkg        package
+	 * @param reader     the package's shared reader, from which objects open cursors to decode their content
+	 * @param export     exported entity
+	 * @param header     object header
+	 * @param properties properties read for object
+	 * @param dataStart  position of object payload in package
+	 * @return a new object
+	 */
+	Object newInstance(Package pkg, PackageReader reader, Export export, ObjectHeader header, Collection<Property> properties, int dataStart);
+}
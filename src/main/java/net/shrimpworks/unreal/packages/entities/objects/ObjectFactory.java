@@ -1,8 +1,10 @@
 package net.shrimpworks.unreal.packages.entities.objects;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.shrimpworks.unreal.packages.Package;
 import net.shrimpworks.unreal.packages.PackageReader;
@@ -13,29 +15,36 @@ import net.shrimpworks.unreal.packages.entities.properties.Property;
 /**
  * Factory for instantiating instances of objects of known types.
  * <p>
- * Each known object type should be added to the enum set with its associated
- * implementation class, and the value name should match the class name of the
- * Unreal object, as per {@link Object#className()}.
+ * Each built-in object type should be added to the enum set with its
+ * associated implementation's constructor, and the value name should match
+ * the class name of the Unreal object, as per {@link Object#className()}.
+ * <p>
+ * Additional types may be registered via {@link #register(String, ObjectConstructor)},
+ * or provided by an {@link ObjectProvider} service implementation.
  */
 public enum ObjectFactory {
 
-	Texture(Texture.class),
-	Texture2D(Texture2D.class), // UE3
-	Sound(Sound.class),
-	Palette(Palette.class),
-	Model(Model.class),
-	Polys(Polys.class);
+	Texture(Texture::new),
+	Texture2D(Texture2D::new), // UE3
+	Sound(Sound::new),
+	Palette(Palette::new),
+	Model(Model::new),
+	Polys(Polys::new);
+
+	/**
+	 * Constructor used for objects of types with no specific implementation.
+	 */
+	public static final ObjectConstructor FALLBACK = Object::new;
 
-	private final Class<? extends Object> clazz;
+	private final ObjectConstructor constructor;
 
-	ObjectFactory(Class<? extends Object> clazz) {
-		this.clazz = clazz;
+	ObjectFactory(ObjectConstructor constructor) {
+		this.constructor = constructor;
 	}
 
 	/**
-	 * Magically create a new typed instance of an object for the provided
-	 * export, if a specific type exists and is defined in the
-	 * {@link ObjectFactory} enum.
+	 * Create a new typed instance of an object for the provided export, if
+	 * a specific type has been registered, otherwise a plain {@link Object}.
 	 *
 	 * @param pkg        package
 	 * @param reader     package reader, used by objects for decoding their content from the package
@@ -50,15 +59,51 @@ public enum ObjectFactory {
 
 		Named type = export.classIndex.get();
 
-		try {
-			ObjectFactory objectFactory = ObjectFactory.valueOf(type.name().name);
-			Constructor<? extends Object> constructor = objectFactory.clazz.getConstructor(Package.class, PackageReader.class, Export.class,
-																						   ObjectHeader.class, Collection.class,
-																						   int.class);
-			return constructor.newInstance(pkg, reader, export, header, properties, dataStart);
-		} catch (IllegalArgumentException | NoSuchMethodException
-				| IllegalAccessException | InstantiationException | InvocationTargetException e) {
-			return new Object(pkg, reader, export, header, properties, dataStart);
+		return constructorFor(type.name().name).newInstance(pkg, reader, export, header, properties, dataStart);
+	}
+
+	/**
+	 * Get the constructor for objects of the provided class.
+	 *
+	 * @param className Unreal class name, case-insensitive
+	 * @return the constructor, or {@link #FALLBACK} if there is no specific
+	 * 	implementation for the class
+	 */
+	public static ObjectConstructor constructorFor(String className) {
+		return Registry.CONSTRUCTORS.getOrDefault(className.toLowerCase(Locale.ROOT), FALLBACK);
+	}
+
+	/**
+	 * Register an object implementation for a class name, replacing any
+	 * existing implementation for that class.
+	 * <p>
+	 * Packages may remember the constructors of the classes they've already
+	 * created objects for, so registration should be done before packages
+	 * are read.
+	 *
+	 * @param className   Unreal class name, case-insensitive
+	 * @param constructor constructor for objects of the class
+	 */
+	public static void register(String className, ObjectConstructor constructor) {
+		Registry.CONSTRUCTORS.put(className.toLowerCase(Locale.ROOT), constructor);
+	}
+
+	/**
+	 * Holds registered constructors, populated with built-in types and
+	 * those offered by service providers when first used.
+	 */
+	private static class Registry {
+
+		private static final Map<String, ObjectConstructor> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+		static {
+			for (ObjectFactory factory : ObjectFactory.values()) {
+				CONSTRUCTORS.put(factory.name().toLowerCase(Locale.ROOT), factory.constructor);
+			}
+
+			for (ObjectProvider provider : ServiceLoader.load(ObjectProvider.class)) {
+				provider.objectTypes().forEach((name, constructor) -> CONSTRUCTORS.put(name.toLowerCase(Locale.ROOT), constructor));
+			}
 		}
 	}
 }
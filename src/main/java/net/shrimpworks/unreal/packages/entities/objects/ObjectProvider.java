@@ -0,0 +1,24 @@
+package net.shrimpworks.unreal.packages.entities.objects;
+
+import java.util.Map;
+
+/**
+ * Service interface allowing additional object implementations to be made
+ * available to the {@link ObjectFactory}.
+ * <p>
+ * Providers are discovered via {@link java.util.ServiceLoader}, so should be
+ * declared via a <code>provides</code> clause in a module declaration, or a
+ * <code>META-INF/services</code> entry on the class path.
+ */
+public interface ObjectProvider {
+
+	/**
+	 * Get the object implementations this provider offers.
+	 * <p>
+	 * Implementations provided here replace any built-in implementations
+	 * for the same class names.
+	 *
+	 * @return constructors by Unreal class name, as per {@link Object#className()}
+	 */
+	Map<String, ObjectConstructor> objectTypes();
+}
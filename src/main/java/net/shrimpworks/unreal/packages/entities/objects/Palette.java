@@ -16,6 +16,7 @@ public class Palette extends Object {
 	}
 
 	public IndexColorModel colorModel() {
+		PackageReader reader = this.reader.cursor();
 		reader.moveTo(dataStart);
 
 		int size = reader.readIndex();
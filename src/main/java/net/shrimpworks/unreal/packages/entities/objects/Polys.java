@@ -19,28 +19,66 @@ import net.shrimpworks.unreal.packages.entities.properties.Property;
  *   - [int] polygon count (again...?)
  *   - [[Polygon, ...]] polygons, repeated for polygon count
  * </pre>
+ * <p>
+ * Polygons are not read until they are requested.
  */
 public class Polys extends Object {
 
+	/**
+	 * @deprecated use {@link #polys()}
+	 */
+	@Deprecated
 	public final List<Polygon> polys;
 
+	// polygons, read when first needed
+	private volatile List<Polygon> polygons;
+
 	public Polys(Package pkg, PackageReader reader, Export export, ObjectHeader header, Collection<Property> properties, int dataStart) {
 		super(pkg, reader, export, header, properties, dataStart);
 
+		this.polys = new LazyList<>(() -> loadPolys());
+	}
+
+	/**
+	 * Get the polygons, reading them if they have not been read already.
+	 *
+	 * @return polygons
+	 */
+	public List<Polygon> polys() {
+		return loadPolys();
+	}
+
+	private List<Polygon> loadPolys() {
+		List<Polygon> p = polygons;
+		if (p == null) {
+			synchronized (this) {
+				if (polygons == null) polygons = readPolys();
+				p = polygons;
+			}
+		}
+		return p;
+	}
+
+	private List<Polygon> readPolys() {
+		PackageReader reader = this.reader.cursor();
 		reader.moveTo(dataStart);
 		reader.ensureRemaining(32);
 
 		int maybePolyCount = reader.readInt();
 		int polyCount = reader.readInt(); // it appears as though there are two polycount values at the head of the collection
 
-		this.polys = new ArrayList<>(polyCount);
+		List<Polygon> polys = new ArrayList<>(polyCount);
 		for (int i = 0; i < polyCount; i++) {
 			polys.add(new Polygon(pkg, reader));
 		}
+		return polys;
 	}
 
 	@Override
 	public String toString() {
-		return String.format("Polys [polys=%s, export=%s, properties=%s]", polys, export, properties);
+		// only describe polygons which have already been read
+		List<Polygon> p = polygons;
+		if (p == null) return String.format("Polys [export=%s, properties=%s]", export, properties);
+		return String.format("Polys [polys=%s, export=%s, properties=%s]", p, export, properties);
 	}
 }
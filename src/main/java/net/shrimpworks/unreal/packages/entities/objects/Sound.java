@@ -15,9 +15,10 @@ public class Sound extends Object {
 	}
 
 	public SoundData readSound() {
+		PackageReader reader = this.reader.cursor();
 		reader.moveTo(dataStart);
 
-		final String format = pkg.names[reader.readIndex()].name;
+		final String format = pkg.nameAt(reader.readIndex()).name;
 		final int size = reader.readIndex();
 
 		byte[] data = new byte[size];
@@ -17,6 +17,7 @@ public class Texture extends TextureBase<Texture.MipMap> {
 	}
 
 	public MipMap[] mipMaps() {
+		PackageReader reader = this.reader.cursor();
 		reader.moveTo(dataStart);
 
 		int mipCount = pkg.version >= 178 ? reader.readInt() : reader.readByte();
@@ -59,6 +60,7 @@ public class Texture extends TextureBase<Texture.MipMap> {
 		if (mip.widthOffset <= 0) throw new IllegalArgumentException("MipMap offset must be greater than zero");
 		if (mip.width <= 0 || mip.height <= 0) throw new IllegalArgumentException("MipMap must have a width and height");
 
+		PackageReader reader = this.reader.cursor();
 		reader.moveTo(mip.widthOffset - mip.size);
 		byte[] data = new byte[mip.size];
 		int pos = 0;
@@ -1,7 +1,5 @@
 package net.shrimpworks.unreal.packages.entities.objects;
 
-import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -10,7 +8,6 @@ import java.util.stream.Collectors;
 
 import net.shrimpworks.unreal.packages.Package;
 import net.shrimpworks.unreal.packages.PackageReader;
-import net.shrimpworks.unreal.packages.compression.ChunkChannel;
 import net.shrimpworks.unreal.packages.compression.CompressedChunk;
 import net.shrimpworks.unreal.packages.compression.CompressionFormat;
 import net.shrimpworks.unreal.packages.entities.Export;
@@ -19,7 +16,7 @@ import net.shrimpworks.unreal.packages.entities.properties.Property;
 /**
  * A texture object from Unreal Engine 3.
  * <p>
- * Able to read texture data from LZO compressed chunks.
+ * Able to read texture data from LZO and zlib compressed chunks.
  */
 public class Texture2D extends TextureBase<Texture2D.MipMap> {
 
@@ -50,6 +47,7 @@ public class Texture2D extends TextureBase<Texture2D.MipMap> {
 	}
 
 	public MipMap[] mipMaps() {
+		PackageReader reader = this.reader.cursor();
 		reader.moveTo(dataStart);
 
 		// 3 unknown int values
@@ -80,22 +78,15 @@ public class Texture2D extends TextureBase<Texture2D.MipMap> {
 
 	@Override
 	protected byte[] readImage(MipMap mip) {
-		boolean lzo = mip.bulkDataFlags.contains(BulkDataFlags.CompressedLzo);
-
-		if (lzo) {
-			CompressedChunk chunk = new CompressedChunk(CompressionFormat.LZO, 0, mip.dataSize, mip.offset, mip.size);
-			ChunkChannel chunkChannel = reader.loadChunk(chunk);
-			byte[] data = new byte[mip.dataSize];
-			ByteBuffer buf = ByteBuffer.allocate(mip.dataSize);
-			try {
-				chunkChannel.read(buf);
-				buf.flip();
-				buf.get(data);
-			} catch (IOException e) {
-				throw new RuntimeException("Failed to read compressed image data", e);
-			}
-
-			return data;
+		PackageReader reader = this.reader.cursor();
+		CompressionFormat format = mip.bulkDataFlags.contains(BulkDataFlags.CompressedLzo)
+			? CompressionFormat.LZO
+			: mip.bulkDataFlags.contains(BulkDataFlags.CompressedZlib) ? CompressionFormat.LZIB : CompressionFormat.NONE;
+
+		if (format != CompressionFormat.NONE) {
+			CompressedChunk chunk = new CompressedChunk(format, 0, mip.dataSize, mip.offset, mip.size);
+			// the chunk is private to this read, so its decompressed content can be used as-is
+			return reader.loadChunk(chunk).content();
 		} else {
 			byte[] data = new byte[mip.size];
 			reader.moveTo(mip.offset);
@@ -66,7 +66,7 @@ public class Polygon {
 		this.polyFlags = reader.readInt();
 		this.actor = new ObjectReference(pkg, reader.readIndex());
 		this.texture = new ObjectReference(pkg, reader.readIndex());
-		this.itemName = pkg.names[reader.readIndex()];
+		this.itemName = pkg.nameAt(reader.readIndex());
 		this.link = reader.readIndex();
 		this.brushPoly = reader.readIndex();
 
@@ -0,0 +1,43 @@
+package net.shrimpworks.unreal.packages.entities.properties;
+
+import java.util.Arrays;
+
+import net.shrimpworks.unreal.packages.Package;
+import net.shrimpworks.unreal.packages.entities.Name;
+
+/**
+ * A dynamic array of bytes.
+ *
+ * @see Package#setArrayType(String, PropertyType)
+ */
+public class ByteArrayProperty extends Property {
+
+	private final byte[] values;
+
+	public ByteArrayProperty(Package pkg, Name name, byte[] values) {
+		super(pkg, name);
+		this.values = values;
+	}
+
+	public int size() {
+		return values.length;
+	}
+
+	public byte get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Get a copy of the array's values.
+	 *
+	 * @return array values
+	 */
+	public byte[] toArray() {
+		return values.clone();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ByteArrayProperty [name=%s, values=%s]", name, Arrays.toString(values));
+	}
+}
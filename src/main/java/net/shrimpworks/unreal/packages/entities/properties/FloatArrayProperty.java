@@ -0,0 +1,43 @@
+package net.shrimpworks.unreal.packages.entities.properties;
+
+import java.util.Arrays;
+
+import net.shrimpworks.unreal.packages.Package;
+import net.shrimpworks.unreal.packages.entities.Name;
+
+/**
+ * A dynamic array of floats.
+ *
+ * @see Package#setArrayType(String, PropertyType)
+ */
+public class FloatArrayProperty extends Property {
+
+	private final float[] values;
+
+	public FloatArrayProperty(Package pkg, Name name, float[] values) {
+		super(pkg, name);
+		this.values = values;
+	}
+
+	public int size() {
+		return values.length;
+	}
+
+	public float get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Get a copy of the array's values.
+	 *
+	 * @return array values
+	 */
+	public float[] toArray() {
+		return values.clone();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("FloatArrayProperty [name=%s, values=%s]", name, Arrays.toString(values));
+	}
+}
@@ -0,0 +1,64 @@
+package net.shrimpworks.unreal.packages.entities.properties;
+
+import java.util.Arrays;
+
+import net.shrimpworks.unreal.packages.Package;
+import net.shrimpworks.unreal.packages.entities.Name;
+import net.shrimpworks.unreal.packages.entities.ObjectReference;
+
+/**
+ * A dynamic array of integers or object references, held as raw integer
+ * values.
+ * <p>
+ * For arrays of object references, each value is an object reference index,
+ * which may be resolved via {@link #reference(int)}.
+ *
+ * @see Package#setArrayType(String, PropertyType)
+ */
+public class IntArrayProperty extends Property {
+
+	/**
+	 * Type of the array's elements, either {@link PropertyType#IntProperty}
+	 * or {@link PropertyType#ObjectProperty}.
+	 */
+	public final PropertyType elementType;
+	private final int[] values;
+
+	public IntArrayProperty(Package pkg, Name name, PropertyType elementType, int[] values) {
+		super(pkg, name);
+		this.elementType = elementType;
+		this.values = values;
+	}
+
+	public int size() {
+		return values.length;
+	}
+
+	public int get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Get an element as an object reference.
+	 *
+	 * @param index element index
+	 * @return object reference
+	 */
+	public ObjectReference reference(int index) {
+		return new ObjectReference(pkg, values[index]);
+	}
+
+	/**
+	 * Get a copy of the array's values.
+	 *
+	 * @return array values
+	 */
+	public int[] toArray() {
+		return values.clone();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("IntArrayProperty [name=%s, elementType=%s, values=%s]", name, elementType, Arrays.toString(values));
+	}
+}
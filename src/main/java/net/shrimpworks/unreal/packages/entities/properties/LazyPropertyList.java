@@ -0,0 +1,91 @@
+package net.shrimpworks.unreal.packages.entities.properties;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import net.shrimpworks.unreal.packages.Package;
+import net.shrimpworks.unreal.packages.entities.Name;
+
+/**
+ * An unmodifiable list of an object's properties, where each property's
+ * value is only read when the property is first accessed.
+ * <p>
+ * Created by the {@link Package} when reading objects with lazy properties
+ * enabled. Alongside each property's name, the index of the name within
+ * the package's names table is held, so properties may be found by name
+ * without reading their values, and mostly without comparing strings.
+ *
+ * @see Package#setLazyProperties(boolean)
+ */
+public final class LazyPropertyList extends AbstractList<Property> implements RandomAccess {
+
+	private final Name[] names;
+	private final int[] nameIndices;
+	private final ToIntFunction<String> nameIndex;
+	private final IntFunction<Property> reader;
+	private final Property[] properties;
+
+	/**
+	 * Create a new lazy property list.
+	 *
+	 * @param names       the name of each property
+	 * @param nameIndices the names table index of each property's name
+	 * @param nameIndex   resolves a property name to a names table index,
+	 *                    or -1 if the name is not present in the table
+	 * @param reader      reads the property at the provided list index
+	 */
+	public LazyPropertyList(Name[] names, int[] nameIndices, ToIntFunction<String> nameIndex, IntFunction<Property> reader) {
+		this.names = names;
+		this.nameIndices = nameIndices;
+		this.nameIndex = nameIndex;
+		this.reader = reader;
+		this.properties = new Property[names.length];
+	}
+
+	@Override
+	public Property get(int index) {
+		if (index < 0 || index >= properties.length) throw new IndexOutOfBoundsException(index);
+
+		// properties are immutable, so racing to read the same one is harmless
+		Property property = properties[index];
+		if (property == null) {
+			property = reader.apply(index);
+			properties[index] = property;
+		}
+		return property;
+	}
+
+	@Override
+	public int size() {
+		return properties.length;
+	}
+
+	/**
+	 * Get the name of the property at the provided index, without reading
+	 * the property.
+	 *
+	 * @param index property index
+	 * @return property name
+	 */
+	public Name name(int index) {
+		return names[index];
+	}
+
+	/**
+	 * Find a property by name, reading only that property.
+	 *
+	 * @param propertyName name of property
+	 * @return the property, or null if not found
+	 */
+	public Property property(String propertyName) {
+		int index = nameIndex.applyAsInt(propertyName);
+		if (index < 0) return null;
+
+		for (int i = 0; i < nameIndices.length; i++) {
+			if (nameIndices[i] == index && names[i].name.equals(propertyName)) return get(i);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,43 @@
+package net.shrimpworks.unreal.packages.entities.properties;
+
+import java.util.Arrays;
+
+import net.shrimpworks.unreal.packages.Package;
+import net.shrimpworks.unreal.packages.entities.Name;
+
+/**
+ * A dynamic array of names.
+ *
+ * @see Package#setArrayType(String, PropertyType)
+ */
+public class NameArrayProperty extends Property {
+
+	private final Name[] values;
+
+	public NameArrayProperty(Package pkg, Name name, Name[] values) {
+		super(pkg, name);
+		this.values = values;
+	}
+
+	public int size() {
+		return values.length;
+	}
+
+	public Name get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Get a copy of the array's values.
+	 *
+	 * @return array values
+	 */
+	public Name[] toArray() {
+		return values.clone();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("NameArrayProperty [name=%s, values=%s]", name, Arrays.toString(values));
+	}
+}
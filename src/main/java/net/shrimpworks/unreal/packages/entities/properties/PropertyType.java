@@ -1,5 +1,9 @@
 package net.shrimpworks.unreal.packages.entities.properties;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 import net.shrimpworks.unreal.packages.entities.Name;
 
 public enum PropertyType {
@@ -22,6 +26,18 @@ public enum PropertyType {
 	InterfaceProperty((byte)-1),
 	ComponentProperty((byte)-1);
 
+	// lookup of types by lower-cased name
+	private static final Map<String, PropertyType> BY_NAME = new HashMap<>();
+	// lookup of types by their type index, as used in packages prior to Unreal Engine 3
+	private static final PropertyType[] BY_TYPE = new PropertyType[16];
+
+	static {
+		for (PropertyType p : values()) {
+			BY_NAME.put(p.name().toLowerCase(Locale.ROOT), p);
+			if (p.type >= 0) BY_TYPE[p.type] = p;
+		}
+	}
+
 	private final byte type;
 
 	PropertyType(byte type) {
@@ -29,6 +45,8 @@ public enum PropertyType {
 	}
 
 	public static PropertyType get(byte type) {
+		if (type >= 0 && type < BY_TYPE.length) return BY_TYPE[type];
+
 		for (PropertyType p : values()) {
 			if (p.type == type) return p;
 		}
@@ -36,9 +54,6 @@ public enum PropertyType {
 	}
 
 	public static PropertyType get(Name name) {
-		for (PropertyType p : values()) {
-			if (p.name().equalsIgnoreCase(name.name)) return p;
-		}
-		return null;
+		return BY_NAME.get(name.name.toLowerCase(Locale.ROOT));
 	}
 }
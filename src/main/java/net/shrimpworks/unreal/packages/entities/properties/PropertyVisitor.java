@@ -0,0 +1,120 @@
+package net.shrimpworks.unreal.packages.entities.properties;
+
+import net.shrimpworks.unreal.packages.Package;
+import net.shrimpworks.unreal.packages.entities.ExportedObject;
+import net.shrimpworks.unreal.packages.entities.Name;
+
+/**
+ * Receives the properties of an object as they're read from a package,
+ * without {@link Property} instances being created for them.
+ * <p>
+ * Values are provided in their raw forms; object references are provided as
+ * object reference index values as would be held by an
+ * {@link net.shrimpworks.unreal.packages.entities.ObjectReference}, and may
+ * be resolved via {@link Package#objectAt(int)}, {@link Package#importAt(int)}
+ * and friends as needed.
+ * <p>
+ * Each callback receives the property name, and its array index. For
+ * properties flagged as elements of static arrays, the array index is the
+ * element's position within the array, otherwise it is -1. Unreal Engine 3
+ * packages record an array index for every property, so for those the
+ * array index is always as recorded, and is 0 for properties which are not
+ * static array elements. Elements of
+ * dynamic arrays are delivered between {@link #onArrayStart(Name, int, int, boolean)}
+ * and {@link #onArrayEnd(Name, int)}, with their positions within the
+ * dynamic array as their array indices.
+ * <p>
+ * Dynamic arrays with known element types are instead delivered whole to
+ * {@link #onIntArray(Name, int, PropertyType, int[])} and friends.
+ * <p>
+ * All callbacks do nothing by default, so implementations need only
+ * implement those for the property types they're interested in. The typed
+ * array callbacks default to reporting the array as an array whose elements
+ * are skipped.
+ *
+ * @see Package#readProperties(ExportedObject, PropertyVisitor)
+ */
+public interface PropertyVisitor {
+
+	default void onBoolean(Name name, int arrayIndex, boolean value) {}
+
+	default void onByte(Name name, int arrayIndex, byte value) {}
+
+	default void onEnum(Name name, int arrayIndex, Name value) {}
+
+	default void onInt(Name name, int arrayIndex, int value) {}
+
+	default void onFloat(Name name, int arrayIndex, float value) {}
+
+	default void onString(Name name, int arrayIndex, String value) {}
+
+	default void onName(Name name, int arrayIndex, Name value) {}
+
+	default void onObjectRef(Name name, int arrayIndex, int objectIndex) {}
+
+	default void onVector(Name name, int arrayIndex, float x, float y, float z) {}
+
+	default void onRotator(Name name, int arrayIndex, int pitch, int yaw, int roll) {}
+
+	default void onScale(Name name, int arrayIndex, float x, float y, float z, float sheerRate, byte sheerAxis) {}
+
+	default void onColor(Name name, int arrayIndex, byte r, byte g, byte b, byte a) {}
+
+	default void onSphere(Name name, int arrayIndex, float x, float y, float z, float radius) {}
+
+	default void onPointRegion(Name name, int arrayIndex, int zoneIndex, int iLeaf, byte zoneNumber) {}
+
+	/**
+	 * A struct of a type which can't be read, the content of which is
+	 * skipped.
+	 */
+	default void onUnknownStruct(Name name, int arrayIndex, StructProperty.StructType structType, int size) {}
+
+	/**
+	 * The start of a dynamic array.
+	 *
+	 * @param name       property name
+	 * @param arrayIndex static array index, or -1 (0 for Unreal Engine 3)
+	 * @param count      number of elements in the array
+	 * @param elements   true if the array's elements can be read, and will be
+	 *                   delivered before {@link #onArrayEnd(Name, int)}, or
+	 *                   false if they will be skipped
+	 */
+	default void onArrayStart(Name name, int arrayIndex, int count, boolean elements) {}
+
+	/**
+	 * The end of a dynamic array.
+	 */
+	default void onArrayEnd(Name name, int arrayIndex) {}
+
+	default void onFixedArray(Name name, int arrayIndex, int objectIndex, int count) {}
+
+	/**
+	 * A dynamic array of integers or object references.
+	 *
+	 * @param name        property name
+	 * @param arrayIndex  static array index, or -1
+	 * @param elementType either {@link PropertyType#IntProperty} or
+	 *                    {@link PropertyType#ObjectProperty}
+	 * @param values      array values, or object reference index values
+	 */
+	default void onIntArray(Name name, int arrayIndex, PropertyType elementType, int[] values) {
+		onArrayStart(name, arrayIndex, values.length, false);
+		onArrayEnd(name, arrayIndex);
+	}
+
+	default void onFloatArray(Name name, int arrayIndex, float[] values) {
+		onArrayStart(name, arrayIndex, values.length, false);
+		onArrayEnd(name, arrayIndex);
+	}
+
+	default void onByteArray(Name name, int arrayIndex, byte[] values) {
+		onArrayStart(name, arrayIndex, values.length, false);
+		onArrayEnd(name, arrayIndex);
+	}
+
+	default void onNameArray(Name name, int arrayIndex, Name[] values) {
+		onArrayStart(name, arrayIndex, values.length, false);
+		onArrayEnd(name, arrayIndex);
+	}
+}
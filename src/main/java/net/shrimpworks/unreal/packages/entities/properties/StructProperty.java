@@ -1,5 +1,9 @@
 package net.shrimpworks.unreal.packages.entities.properties;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 import net.shrimpworks.unreal.packages.Package;
 import net.shrimpworks.unreal.packages.entities.Name;
 import net.shrimpworks.unreal.packages.entities.ObjectReference;
@@ -16,11 +20,15 @@ public abstract class StructProperty extends Property {
 		Plane,
 		Unknown;
 
+		// lookup of types by lower-cased name
+		private static final Map<String, StructType> BY_NAME = new HashMap<>();
+
+		static {
+			for (StructType s : values()) BY_NAME.put(s.name().toLowerCase(Locale.ROOT), s);
+		}
+
 		public static StructType get(Name name) {
-			for (StructType s : StructType.values()) {
-				if (s.name().equalsIgnoreCase(name.name)) return s;
-			}
-			return Unknown;
+			return BY_NAME.getOrDefault(name.name.toLowerCase(Locale.ROOT), Unknown);
 		}
 	}
 
@@ -0,0 +1,383 @@
+package net.shrimpworks.unreal.packages;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+import org.anarres.lzo.LzoAlgorithm;
+import org.anarres.lzo.LzoCompressor;
+import org.anarres.lzo.LzoLibrary;
+import org.anarres.lzo.lzo_uintp;
+
+import net.shrimpworks.unreal.packages.compression.ChunkCache;
+import net.shrimpworks.unreal.packages.compression.ChunkChannel;
+import net.shrimpworks.unreal.packages.compression.CompressedChunk;
+import net.shrimpworks.unreal.packages.compression.CompressionFormat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkChannelTest {
+
+	private static final int BLOCK_SIZE = 1024 * 16;
+	private static final int CHUNK_SIZE = (BLOCK_SIZE * 6) + 1234;
+	private static final int CHUNK_COUNT = 3;
+	private static final int HEADER_SIZE = 64; // some "uncompressed" data ahead of the chunks
+
+	private Path pkgFile;
+	private byte[] uncompressed;
+	private CompressedChunk[] chunks;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		// some data which compresses reasonably, but still varies enough to notice mistakes
+		Random random = new Random(1234);
+		uncompressed = new byte[HEADER_SIZE + (CHUNK_SIZE * CHUNK_COUNT)];
+		for (int i = 0; i < uncompressed.length; i++) {
+			uncompressed[i] = random.nextInt(8) == 0 ? (byte)random.nextInt() : (byte)(i / 100);
+		}
+
+		writePackage(CompressionFormat.LZO);
+	}
+
+	/**
+	 * Write the test data to a new package file, using the provided
+	 * compression format for its compressed chunks.
+	 */
+	private void writePackage(CompressionFormat format) throws IOException {
+		if (pkgFile != null) Files.deleteIfExists(pkgFile);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(uncompressed, 0, HEADER_SIZE);
+
+		chunks = new CompressedChunk[CHUNK_COUNT];
+		for (int i = 0; i < CHUNK_COUNT; i++) {
+			int uncompressedOffset = HEADER_SIZE + (i * CHUNK_SIZE);
+			byte[] chunk = compressChunk(format, uncompressed, uncompressedOffset, CHUNK_SIZE);
+			chunks[i] = new CompressedChunk(format, uncompressedOffset, CHUNK_SIZE, out.size(), chunk.length);
+			out.write(chunk);
+		}
+
+		pkgFile = Files.createTempFile("test-chunks-", ".ut3");
+		Files.write(pkgFile, out.toByteArray());
+	}
+
+	@AfterEach
+	public void teardown() throws IOException {
+		Files.deleteIfExists(pkgFile);
+	}
+
+	@Test
+	public void lazyBlockDecompression() throws IOException {
+		try (PackageReader reader = new PackageReader(pkgFile)) {
+			ChunkChannel channel = reader.loadChunk(chunks[1]);
+			assertEquals(0, channel.inflatedBlocks());
+
+			// read a few bytes spanning the boundary between the third and fourth blocks
+			ByteBuffer buf = ByteBuffer.allocate(16);
+			int pos = (BLOCK_SIZE * 3) - 8;
+			assertEquals(16, channel.read(buf, pos));
+			assertArrayEquals(slice(chunks[1].uncompressedOffset + pos, 16), buf.array());
+			assertEquals(2, channel.inflatedBlocks());
+
+			// the final partial block
+			buf.clear();
+			pos = CHUNK_SIZE - 16;
+			assertEquals(16, channel.read(buf, pos));
+			assertArrayEquals(slice(chunks[1].uncompressedOffset + pos, 16), buf.array());
+			assertEquals(3, channel.inflatedBlocks());
+
+			// and everything
+			buf = ByteBuffer.allocate(CHUNK_SIZE);
+			assertEquals(CHUNK_SIZE, channel.read(buf));
+			assertArrayEquals(slice(chunks[1].uncompressedOffset, CHUNK_SIZE), buf.array());
+			assertEquals(7, channel.inflatedBlocks());
+		}
+	}
+
+	@Test
+	public void chunkContent() throws IOException {
+		try (PackageReader reader = new PackageReader(pkgFile, false, true)) {
+			for (CompressedChunk chunk : chunks) {
+				ChunkChannel channel = reader.loadChunk(chunk);
+				assertArrayEquals(slice(chunk.uncompressedOffset, CHUNK_SIZE), channel.content());
+				assertEquals(7, channel.inflatedBlocks());
+			}
+		}
+	}
+
+	@Test
+	public void readAcrossChunks() throws IOException {
+		for (boolean mapped : new boolean[] { false, true }) {
+			try (PackageReader reader = new PackageReader(pkgFile, false, mapped)) {
+				reader.setChunks(chunks);
+				verifyReads(reader);
+			}
+		}
+	}
+
+	@Test
+	public void parallelDecompression() throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			try (PackageReader reader = new PackageReader(pkgFile)) {
+				ChunkChannel channel = reader.loadChunk(chunks[0]);
+				channel.inflate(executor);
+				assertEquals(7, channel.inflatedBlocks());
+
+				ByteBuffer buf = ByteBuffer.allocate(CHUNK_SIZE);
+				assertEquals(CHUNK_SIZE, channel.read(buf, 0));
+				assertArrayEquals(slice(chunks[0].uncompressedOffset, CHUNK_SIZE), buf.array());
+			}
+
+			// all chunks, all at once
+			try (PackageReader reader = new PackageReader(pkgFile)) {
+				reader.setChunks(chunks);
+				reader.inflateChunks(executor);
+				for (CompressedChunk chunk : chunks) {
+					assertEquals(7, reader.loadChunk(chunk).inflatedBlocks());
+				}
+				verifyReads(reader);
+				// no chunks needed to be loaded while reading, since they were all pre-loaded
+				assertEquals(0, reader.stats.chunkLoadCount);
+			}
+
+			// each chunk inflated in parallel as it's needed
+			try (PackageReader reader = new PackageReader(pkgFile)) {
+				reader.setChunks(chunks);
+				reader.setDecompressionExecutor(executor);
+				verifyReads(reader);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void prefetchSequentialChunks() throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try (PackageReader reader = new PackageReader(pkgFile)) {
+			reader.setChunks(chunks);
+			reader.setPrefetch(executor, 2, CHUNK_SIZE * 2L);
+
+			// moving into the first chunk should trigger read-ahead of the following two
+			for (CompressedChunk chunk : chunks) {
+				reader.moveTo(chunk.uncompressedOffset);
+			}
+			assertEquals(1, reader.stats.chunkLoadCount);
+			assertEquals(2, reader.stats.chunkPrefetchCount);
+
+			verifyReads(reader);
+		} finally {
+			executor.shutdown();
+		}
+
+		// not enough space to read ahead
+		executor = Executors.newFixedThreadPool(2);
+		try (PackageReader reader = new PackageReader(pkgFile)) {
+			reader.setChunks(chunks);
+			reader.setPrefetch(executor, 2, CHUNK_SIZE - 1);
+
+			for (CompressedChunk chunk : chunks) {
+				reader.moveTo(chunk.uncompressedOffset);
+			}
+			assertEquals(3, reader.stats.chunkLoadCount);
+			assertEquals(0, reader.stats.chunkPrefetchCount);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void diskCache() throws IOException {
+		Path cacheDir = Files.createTempDirectory("test-chunk-cache-");
+		try {
+			// first read decompresses all chunks into the cache
+			try (PackageReader reader = new PackageReader(pkgFile)) {
+				reader.setDiskCache(cacheDir);
+				reader.setChunks(chunks);
+				verifyReads(reader);
+				assertEquals(0, reader.stats.chunkLoadCount);
+			}
+
+			try (Stream<Path> cached = Files.list(cacheDir)) {
+				List<Path> files = cached.toList();
+				assertEquals(1, files.size());
+				assertArrayEquals(uncompressed, Files.readAllBytes(files.get(0)));
+			}
+
+			// subsequent reads just use it
+			try (PackageReader reader = new PackageReader(pkgFile, false, true)) {
+				reader.setDiskCache(cacheDir);
+				reader.setChunks(chunks);
+				verifyReads(reader);
+				assertEquals(0, reader.stats.chunkLoadCount);
+				assertEquals(0, reader.stats.chunkFetchCount);
+			}
+		} finally {
+			try (Stream<Path> files = Files.list(cacheDir)) {
+				for (Path f : files.toList()) Files.delete(f);
+			}
+			Files.delete(cacheDir);
+		}
+	}
+
+	@Test
+	public void zlibChunks() throws IOException {
+		writePackage(CompressionFormat.LZIB);
+
+		for (boolean mapped : new boolean[] { false, true }) {
+			try (PackageReader reader = new PackageReader(pkgFile, false, mapped)) {
+				reader.setChunks(chunks);
+				verifyReads(reader);
+
+				assertArrayEquals(slice(chunks[1].uncompressedOffset, CHUNK_SIZE), reader.loadChunk(chunks[1]).content());
+			}
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try (PackageReader reader = new PackageReader(pkgFile)) {
+			reader.setChunks(chunks);
+			reader.inflateChunks(executor);
+			verifyReads(reader);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void sharedBoundedCache() throws IOException {
+		// enough room for two chunks
+		ChunkCache cache = ChunkCache.bounded(CHUNK_SIZE * 2L);
+
+		try (PackageReader reader = new PackageReader(pkgFile)) {
+			reader.setChunks(chunks);
+			reader.setChunkCache(cache);
+			for (CompressedChunk chunk : chunks) {
+				reader.moveTo(chunk.uncompressedOffset);
+				reader.moveTo(chunk.uncompressedOffset + 100);
+			}
+			assertEquals(3, reader.stats.chunkLoadCount);
+
+			ChunkCache.Stats stats = cache.stats();
+			assertEquals(3, stats.misses());
+			assertEquals(1, stats.evictions());
+			assertEquals(2, stats.chunks());
+			assertEquals(CHUNK_SIZE * 2L, stats.bytes());
+		}
+
+		// a second reader of the same file, which should find the most recent chunks already loaded, even though the first reader is closed
+		try (PackageReader reader = new PackageReader(pkgFile, false, true)) {
+			reader.setChunks(chunks);
+			reader.setChunkCache(cache);
+			reader.moveTo(chunks[2].uncompressedOffset);
+			reader.moveTo(chunks[1].uncompressedOffset);
+			assertEquals(0, reader.stats.chunkLoadCount);
+			assertEquals(2, cache.stats().hits());
+
+			verifyReads(reader);
+		}
+
+		// unrelated files do not share chunks
+		Path other = Files.createTempFile("test-chunks-", ".ut3");
+		try {
+			Files.copy(pkgFile, other, StandardCopyOption.REPLACE_EXISTING);
+			try (PackageReader reader = new PackageReader(other)) {
+				reader.setChunks(chunks);
+				reader.setChunkCache(cache);
+				reader.moveTo(chunks[2].uncompressedOffset);
+				assertEquals(1, reader.stats.chunkLoadCount);
+			}
+		} finally {
+			Files.deleteIfExists(other);
+		}
+	}
+
+	private void verifyReads(PackageReader reader) {
+		ByteBuffer expected = ByteBuffer.wrap(uncompressed).order(ByteOrder.LITTLE_ENDIAN);
+
+		// header, and the start of each chunk
+		for (int pos : new int[] { 0, 16, chunks[0].uncompressedOffset, chunks[1].uncompressedOffset, chunks[2].uncompressedOffset }) {
+			reader.moveTo(pos);
+			assertEquals(expected.getInt(pos), reader.readInt());
+		}
+
+		// random access anywhere within the chunks
+		Random random = new Random(5678);
+		for (int i = 0; i < 200; i++) {
+			int pos = HEADER_SIZE + random.nextInt((CHUNK_SIZE * CHUNK_COUNT) - 8);
+			reader.moveTo(pos);
+			assertEquals(expected.getLong(pos), reader.readLong(), "Read at position " + pos);
+			assertEquals(pos + 8, reader.currentPosition());
+		}
+
+		// bulk reads within a chunk
+		int pos = chunks[2].uncompressedOffset + 100;
+		reader.moveTo(pos);
+		byte[] dest = new byte[BLOCK_SIZE * 2];
+		int read = 0;
+		while (read < dest.length) {
+			read += reader.readBytes(dest, read, dest.length - read);
+			reader.fillBuffer();
+		}
+		assertArrayEquals(slice(pos, dest.length), dest);
+	}
+
+	private byte[] slice(int offset, int length) {
+		byte[] result = new byte[length];
+		System.arraycopy(uncompressed, offset, result, 0, length);
+		return result;
+	}
+
+	/**
+	 * Produce a compressed chunk, consisting of a chunk header, block size
+	 * table, and compressed blocks, as found in compressed UE3 packages.
+	 */
+	private static byte[] compressChunk(CompressionFormat format, byte[] data, int offset, int length) throws IOException {
+		LzoCompressor compressor = LzoLibrary.getInstance().newCompressor(LzoAlgorithm.LZO1X, null);
+		Deflater deflater = new Deflater();
+
+		int blockCount = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		ByteBuffer table = ByteBuffer.allocate(16 + (blockCount * 8)).order(ByteOrder.LITTLE_ENDIAN);
+		ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+
+		table.putInt(0x9E2A83C1).putInt(BLOCK_SIZE).putInt(0).putInt(length);
+		for (int i = 0; i < blockCount; i++) {
+			int blockLength = Math.min(BLOCK_SIZE, length - (i * BLOCK_SIZE));
+			byte[] out = new byte[blockLength + (blockLength / 16) + 64 + 3];
+			int outLength;
+			if (format == CompressionFormat.LZIB) {
+				deflater.reset();
+				deflater.setInput(data, offset + (i * BLOCK_SIZE), blockLength);
+				deflater.finish();
+				outLength = deflater.deflate(out);
+			} else {
+				lzo_uintp lzoLength = new lzo_uintp(out.length);
+				compressor.compress(data, offset + (i * BLOCK_SIZE), blockLength, out, 0, lzoLength);
+				outLength = lzoLength.value;
+			}
+			blocks.write(out, 0, outLength);
+			table.putInt(outLength).putInt(blockLength);
+		}
+		deflater.end();
+		table.putInt(8, blocks.size());
+
+		ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+		chunk.write(table.array());
+		chunk.write(blocks.toByteArray());
+		return chunk.toByteArray();
+	}
+}
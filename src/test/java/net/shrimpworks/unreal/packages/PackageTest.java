@@ -6,7 +6,16 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import java.util.zip.GZIPInputStream;
 import javax.imageio.ImageIO;
 
@@ -14,13 +23,22 @@ import net.shrimpworks.unreal.packages.entities.Export;
 import net.shrimpworks.unreal.packages.entities.ExportedObject;
 import net.shrimpworks.unreal.packages.entities.Import;
 import net.shrimpworks.unreal.packages.entities.Name;
+import net.shrimpworks.unreal.packages.entities.NamePool;
+import net.shrimpworks.unreal.packages.entities.Named;
 import net.shrimpworks.unreal.packages.entities.objects.Model;
 import net.shrimpworks.unreal.packages.entities.objects.Object;
+import net.shrimpworks.unreal.packages.entities.objects.ObjectFactory;
+import net.shrimpworks.unreal.packages.entities.objects.ObjectHeader;
 import net.shrimpworks.unreal.packages.entities.objects.Polys;
 import net.shrimpworks.unreal.packages.entities.objects.Texture;
 import net.shrimpworks.unreal.packages.entities.properties.ArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.IntArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.IntegerProperty;
+import net.shrimpworks.unreal.packages.entities.properties.LazyPropertyList;
 import net.shrimpworks.unreal.packages.entities.properties.ObjectProperty;
 import net.shrimpworks.unreal.packages.entities.properties.Property;
+import net.shrimpworks.unreal.packages.entities.properties.PropertyType;
+import net.shrimpworks.unreal.packages.entities.properties.PropertyVisitor;
 import net.shrimpworks.unreal.packages.entities.properties.StringProperty;
 
 import org.junit.jupiter.api.AfterAll;
@@ -63,10 +81,18 @@ public class PackageTest extends PackageTestUtils {
 		try (Package pkg = new Package(unrMap)) {
 			pkg.objectsByClassName("Model").forEach(o -> {
 				assertTrue(o.object() instanceof Model);
+				// geometry is read on demand
+				Model model = (Model)o.object();
+				assertEquals(model.vectors().size() > 0, model.nodes().size() > 0);
+				assertSame(model.vectors(), model.vectors());
+				if (model.polys().index != 0) assertTrue(model.polys().get() instanceof ExportedObject);
 			});
 
 			pkg.objectsByClassName("Polys").forEach(o -> {
 				assertTrue(o.object() instanceof Polys);
+				Polys polys = (Polys)o.object();
+				assertSame(polys.polys(), polys.polys());
+				polys.polys().forEach(p -> assertTrue(p.vertices.size() >= 3));
 			});
 		}
 	}
@@ -144,6 +170,470 @@ public class PackageTest extends PackageTestUtils {
 		}
 	}
 
+	@Test
+	public void readMapped() throws IOException {
+		try (PackageReader reader = new PackageReader(unrMap, false, true);
+			 Package pkg = new Package(reader)) {
+			try (Package unmapped = new Package(unrMap)) {
+				assertEquals(unmapped.sha1Hash(), pkg.sha1Hash());
+			}
+
+			Object level = pkg.objectsByClassName("LevelInfo").iterator().next().object();
+			assertEquals("City Street", ((StringProperty)level.property("Title")).value);
+
+			ExportedObject screenshot = pkg.objectByRef(((ObjectProperty)level.property("Screenshot")).value);
+			Texture.MipMap[] mipMaps = ((Texture)screenshot.object()).mipMaps();
+			assertNotNull(mipMaps[0].get());
+
+			pkg.objectsByClassName("Model").forEach(o -> assertTrue(o.object() instanceof Model));
+
+			assertEquals(0, reader.stats.fillBufferCount);
+		}
+
+		try (PackageReader reader = new PackageReader(ut2Map, false, true);
+			 Package pkg = new Package(reader)) {
+			Object object = pkg.objectByName(new Name("Shot00052")).object();
+			assertNotNull(((Texture)object).mipMaps()[0].get());
+		}
+	}
+
+	@Test
+	public void concurrentObjectLoads() throws IOException {
+		Map<Integer, String> expected = new HashMap<>();
+		try (Package pkg = new Package(unrMap)) {
+			for (ExportedObject o : pkg.objects) {
+				if (o != null && o.size > 0) expected.put(o.index, String.valueOf(o.object().properties));
+			}
+		}
+
+		for (boolean mapped : new boolean[] { false, true }) {
+			for (boolean lazy : new boolean[] { false, true }) {
+				try (Package pkg = new Package(new PackageReader(unrMap, false, mapped))) {
+					// lazily read property values are read concurrently too, as they're printed
+					pkg.setLazyProperties(lazy);
+
+					Map<Integer, String> loaded = new ConcurrentHashMap<>();
+					Arrays.stream(pkg.objects).parallel()
+						  .filter(o -> o != null && o.size > 0)
+						  .forEach(o -> loaded.put(o.index, String.valueOf(o.object().properties)));
+					assertEquals(expected, loaded);
+
+					ExportedObject screenshot = pkg.objectByName(new Name("Screenshot"));
+					Texture texture = (Texture)screenshot.object();
+					IntStream.range(0, 8).parallel().forEach(i -> assertNotNull(texture.mipMaps()[0].get()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void objectCache() throws IOException {
+		try (Package pkg = new Package(unrMap)) {
+			ExportedObject screenshot = pkg.objectByName("Screenshot");
+			ExportedObject levelInfo = pkg.objectsByClassName("LevelInfo").iterator().next();
+
+			// default soft cache
+			assertSame(screenshot.object(), screenshot.object());
+			assertEquals(1, pkg.objectCache().stats().hits());
+
+			pkg.setObjectCache(ObjectCache.none());
+			assertNotSame(screenshot.object(), screenshot.object());
+			assertEquals(2, pkg.objectCache().stats().misses());
+
+			pkg.setObjectCache(ObjectCache.bounded(1));
+			Object tex = screenshot.object();
+			assertSame(tex, screenshot.object());
+			levelInfo.object();
+			assertNotSame(tex, screenshot.object());
+			assertEquals(new ObjectCache.Stats(1, 3, 2, 1, screenshot.size), pkg.objectCache().stats());
+
+			// shared between packages, limited by weight
+			ObjectCache shared = ObjectCache.weighted(screenshot.size + levelInfo.size);
+			pkg.setObjectCache(shared);
+			try (Package other = new Package(unrMap)) {
+				other.setObjectCache(shared);
+				ExportedObject otherScreenshot = other.objectByName("Screenshot");
+				assertNotSame(screenshot.object(), otherScreenshot.object());
+				assertEquals(1, shared.stats().objects());
+				assertEquals(1, shared.stats().evictions());
+			}
+
+			// closing a package removes its objects from a shared cache
+			assertEquals(0, shared.stats().objects());
+
+			shared.clear();
+			assertEquals(0, shared.stats().weight());
+		}
+	}
+
+	@Test
+	public void propertyVisitor() throws IOException {
+		for (Path p : new Path[] { unrMap, ut2Map }) {
+			try (Package pkg = new Package(p)) {
+				for (ExportedObject o : pkg.objects) {
+					if (o == null || o.size <= 0 || o.classIndex.index == 0) continue;
+
+					List<String> visited = new ArrayList<>();
+					pkg.readProperties(o, new PropertyVisitor() {
+						@Override
+						public void onInt(Name name, int arrayIndex, int value) {
+							visited.add(name.name + "=" + value);
+						}
+
+						@Override
+						public void onString(Name name, int arrayIndex, String value) {
+							visited.add(name.name + "=" + value);
+						}
+
+						@Override
+						public void onObjectRef(Name name, int arrayIndex, int objectIndex) {
+							visited.add(name.name + "=" + objectIndex);
+						}
+					});
+
+					List<String> expected = new ArrayList<>();
+					for (Property prop : o.object().properties) {
+						for (Property v : prop instanceof ArrayProperty a ? a.values : List.of(prop)) {
+							if (v instanceof IntegerProperty i) expected.add(i.name.name + "=" + i.value);
+							else if (v instanceof StringProperty s) expected.add(s.name.name + "=" + s.value);
+							else if (v instanceof ObjectProperty r) expected.add(r.name.name + "=" + r.value.index);
+						}
+					}
+
+					visited.sort(null);
+					expected.sort(null);
+					assertEquals(expected, visited);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void propertyProjection() throws IOException {
+		Set<String> wanted = Set.of("location", "Title", "Author", "DrawScale", "Skins");
+		for (Path p : new Path[] { unrMap, ut2Map }) {
+			try (Package pkg = new Package(p)) {
+				for (ExportedObject o : pkg.objects) {
+					if (o == null || o.size <= 0 || o.classIndex.index == 0) continue;
+
+					List<String> expected = o.object().properties.stream()
+																.filter(prop -> wanted.stream().anyMatch(w -> w.equalsIgnoreCase(prop.name.name)))
+																.map(Property::toString)
+																.toList();
+					assertEquals(expected, pkg.properties(o, wanted).stream().map(Property::toString).toList());
+				}
+
+				ExportedObject info = pkg.objectsByClassName("LevelInfo").iterator().next();
+				assertEquals(2, pkg.properties(info, Set.of("Title", "Author")).size());
+				assertTrue(pkg.properties(info, Set.of("NotAPropertyAtAll")).isEmpty());
+			}
+		}
+	}
+
+	@Test
+	public void lazyProperties() throws IOException {
+		for (Path p : new Path[] { unrMap, ut2Map }) {
+			try (Package pkg = new Package(p); Package lazy = new Package(p)) {
+				lazy.setLazyProperties(true);
+				assertTrue(lazy.lazyProperties());
+
+				for (int i = 0; i < pkg.objects.length; i++) {
+					ExportedObject o = pkg.objects[i];
+					if (o == null || o.size <= 0 || o.classIndex.index == 0) continue;
+
+					Object object = lazy.objects[i].object();
+					assertTrue(object.properties instanceof LazyPropertyList);
+					for (Property prop : o.object().properties) {
+						assertEquals(prop.toString(), object.property(prop.name.name).toString());
+					}
+					assertEquals(o.object().properties.toString(), object.properties.toString());
+					assertNull(object.property("NotAPropertyAtAll"));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void arrayTypes() throws IOException {
+		try (Package pkg = new Package(ut2Map)) {
+			assertNull(pkg.arrayType("Skins"));
+
+			pkg.setArrayType("Skins", PropertyType.ObjectProperty);
+			assertEquals(PropertyType.ObjectProperty, pkg.arrayType("skins"));
+
+			pkg.setArrayType("SKINS", null);
+			assertNull(pkg.arrayType("Skins"));
+
+			assertThrows(IllegalArgumentException.class, () -> pkg.setArrayType("Skins", PropertyType.StructProperty));
+
+			// declared types only apply to Unreal Engine 3 arrays
+			pkg.setArrayType("ReferencedTextures", PropertyType.IntProperty);
+			for (ExportedObject o : pkg.objects) {
+				if (o == null || o.size <= 0 || o.classIndex.index == 0) continue;
+				assertTrue(o.object().properties.stream().noneMatch(p -> p instanceof IntArrayProperty));
+			}
+		}
+	}
+
+	@Test
+	public void readSummary() throws IOException {
+		for (Path p : new Path[] { unrMap, ut2Map }) {
+			try (Package pkg = new Package(p)) {
+				PackageSummary summary = PackageSummary.read(p, false);
+				assertEquals(pkg.version, summary.version);
+				assertEquals(pkg.license, summary.license);
+				assertEquals(pkg.flags, summary.flags);
+				assertEquals(pkg.engineVersion, summary.engineVersion);
+				assertEquals(pkg.compressionFormat, summary.compressionFormat);
+				assertEquals(pkg.names.length, summary.nameCount);
+				assertEquals(pkg.exports.length, summary.exportCount);
+				assertEquals(pkg.imports.length, summary.importCount);
+				assertNotNull(summary.guid);
+				assertTrue(summary.generations.length > 0);
+				assertNull(summary.names);
+
+				summary = PackageSummary.read(p, true);
+				assertArrayEquals(pkg.names, summary.names);
+			}
+		}
+	}
+
+	@Test
+	public void lazyTables() throws IOException {
+		for (Path p : new Path[] { unrMap, ut2Map }) {
+			try (Package eager = new Package(p);
+				 Package lazy = new Package(p, Package.TableMode.LAZY)) {
+				assertEquals(eager.exports.length, lazy.exports.length);
+				assertNull(lazy.exports[0]);
+				assertNull(lazy.names[0]);
+
+				// reading a single object only reads the table entries it needs
+				ExportedObject first = lazy.objectsByClassName("LevelInfo").iterator().next();
+				assertNotNull(first.object());
+				assertEquals(eager.objectsByClassName("LevelInfo").iterator().next().object().properties.size(),
+							 first.object().properties.size());
+
+				for (int i = 0; i < eager.names.length; i++) {
+					assertEquals(eager.names[i].name, lazy.nameAt(i).name);
+					assertEquals(eager.names[i].flags, lazy.nameAt(i).flags);
+				}
+				for (int i = 0; i < eager.imports.length; i++) {
+					assertEquals(eager.imports[i].toString(), lazy.importAt(i).toString());
+				}
+				for (int i = 0; i < eager.exports.length; i++) {
+					assertEquals(eager.exports[i].toString(), lazy.exportAt(i).toString());
+					assertSame(lazy.exportAt(i), lazy.exports[i]);
+					assertEquals(eager.objects[i] == null, lazy.objectAt(i) == null);
+					assertEquals(eager.fields[i] == null, lazy.fieldAt(i) == null);
+				}
+
+				assertEquals(eager.rootExports().size(), lazy.rootExports().size());
+				assertEquals(eager.packageImports().size(), lazy.packageImports().size());
+			}
+		}
+	}
+
+	@Test
+	public void columnarTables() throws IOException {
+		for (Path p : new Path[] { unrMap, ut2Map }) {
+			try (Package eager = new Package(p);
+				 Package columnar = new Package(p, Package.TableMode.COLUMNAR)) {
+				assertEquals(eager.exports.length, columnar.exports.length);
+				assertNull(columnar.exports[0]);
+				assertNotNull(columnar.names[0]);
+
+				for (int i = 0; i < eager.imports.length; i++) {
+					assertEquals(eager.imports[i].toString(), columnar.importAt(i).toString());
+				}
+				for (int i = 0; i < eager.exports.length; i++) {
+					assertEquals(eager.exports[i].toString(), columnar.exportAt(i).toString());
+					// exports are not retained, but are equal to one another
+					assertNotSame(columnar.exportAt(i), columnar.exportAt(i));
+					assertEquals(columnar.exportAt(i), columnar.exportAt(i));
+					assertNull(columnar.exports[i]);
+
+					assertEquals(eager.objects[i] == null, columnar.objectAt(i) == null);
+					assertEquals(eager.fields[i] == null, columnar.fieldAt(i) == null);
+					if (eager.objects[i] != null) assertSame(columnar.objectAt(i), columnar.objectAt(i));
+				}
+
+				ExportedObject first = columnar.objectsByClassName("LevelInfo").iterator().next();
+				assertEquals(eager.objectsByClassName("LevelInfo").iterator().next().object().properties.size(),
+							 first.object().properties.size());
+			}
+		}
+	}
+
+	@Test
+	public void namePool() throws IOException {
+		NamePool pool = new NamePool();
+		try (Package map = new Package(unrMap, Package.TableMode.EAGER, pool);
+			 Package other = new Package(unrMap, Package.TableMode.LAZY, pool);
+			 Package columnar = new Package(ut2Map, Package.TableMode.COLUMNAR, pool)) {
+			int size = pool.size();
+			assertTrue(size > 0);
+
+			for (int i = 0; i < map.names.length; i++) {
+				assertSame(map.names[i], other.nameAt(i));
+			}
+			assertEquals(size, pool.size());
+
+			// numbered names referenced by exports are also pooled
+			assertSame(map.exportAt(0).name, other.exportAt(0).name);
+
+			int none = columnar.nameIndexOf("None");
+			assertSame(columnar.nameAt(none).name, map.nameAt(map.nameIndexOf("None")).name);
+		}
+
+		pool.clear();
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	public void objectFactory() throws IOException {
+		assertSame(ObjectFactory.FALLBACK, ObjectFactory.constructorFor("NotAClass"));
+		assertNotSame(ObjectFactory.FALLBACK, ObjectFactory.constructorFor("TEXTURE"));
+
+		class PlayerStart extends Object {
+
+			PlayerStart(Package pkg, PackageReader reader, Export export, ObjectHeader header, Collection<Property> properties, int dataStart) {
+				super(pkg, reader, export, header, properties, dataStart);
+			}
+		}
+
+		ObjectFactory.register("PlayerStart", PlayerStart::new);
+		try (Package pkg = new Package(unrMap)) {
+			ExportedObject start = pkg.objectsByClassName("PlayerStart").iterator().next();
+			assertInstanceOf(PlayerStart.class, start.object());
+			assertInstanceOf(Texture.class, pkg.objectByName("Screenshot").object());
+			assertSame(Object.class, pkg.objectsByClassName("LevelInfo").iterator().next().object().getClass());
+		} finally {
+			ObjectFactory.register("PlayerStart", ObjectFactory.FALLBACK);
+		}
+	}
+
+	@Test
+	public void classIndex() throws IOException {
+		for (Package.TableMode mode : Package.TableMode.values()) {
+			try (Package pkg = new Package(unrMap, mode)) {
+				for (String className : new String[] { "LevelInfo", "PlayerStart", "Texture", "Sound", "Light", "Nonexistent" }) {
+					Set<Export> expectedExports = new HashSet<>();
+					Set<ExportedObject> expectedObjects = new HashSet<>();
+					for (int i = 0; i < pkg.exports.length; i++) {
+						Export e = pkg.exportAt(i);
+						if (e.classIndex.get() instanceof Import imp && imp.name.name.equals(className)) {
+							expectedExports.add(e);
+							if (pkg.objectAt(i) != null) expectedObjects.add(pkg.objectAt(i));
+						}
+					}
+
+					List<Export> exports = pkg.exportsOfClass(className);
+					assertEquals(expectedExports, new HashSet<>(exports));
+					assertEquals(expectedExports.size(), exports.size());
+					for (int i = 1; i < exports.size(); i++) {
+						assertTrue(exports.get(i - 1).index < exports.get(i).index);
+					}
+
+					assertEquals(expectedObjects, new HashSet<>(pkg.objectsOfClass(className)));
+					assertEquals(expectedObjects, new HashSet<>(pkg.objectsByClassName(className)));
+					assertEquals(expectedExports, new HashSet<>(pkg.exportsByClassName(className)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void hierarchy() throws IOException {
+		for (Package.TableMode mode : Package.TableMode.values()) {
+			try (Package pkg = new Package(unrMap, mode)) {
+				int exportChildren = pkg.rootExports().size();
+				for (int i = 0; i < pkg.exports.length; i++) {
+					Export parent = pkg.exportAt(i);
+					Set<Export> children = parent.children();
+					exportChildren += children.size();
+					for (Export child : children) {
+						assertEquals(parent.index + 1, child.groupIndex.index);
+					}
+				}
+				assertEquals(pkg.exports.length, exportChildren);
+
+				int importChildren = pkg.packageImports().size();
+				for (int i = 0; i < pkg.imports.length; i++) {
+					Import parent = pkg.importAt(i);
+					for (Import child : parent.children()) {
+						assertEquals(parent, child.packageIndex.get());
+						importChildren++;
+					}
+				}
+				assertEquals(pkg.imports.length, importChildren);
+			}
+		}
+	}
+
+	@Test
+	public void resolvePath() throws IOException {
+		for (Package.TableMode mode : Package.TableMode.values()) {
+			try (Package pkg = new Package(unrMap, mode)) {
+				for (int i = 0; i < pkg.exports.length; i++) {
+					Export export = pkg.exportAt(i);
+					String path = export.name.name;
+					for (Export e = export; e.groupIndex.index > 0; ) {
+						e = pkg.exportAt(e.groupIndex.index - 1);
+						path = e.name.name + "." + path;
+					}
+
+					Named found = pkg.resolvePath(path.toUpperCase());
+					assertTrue(found instanceof Export);
+					assertTrue(((Export)found).index <= export.index);
+					assertTrue(pkg.childrenOfPath(path).containsAll(export.children()));
+				}
+
+				for (int i = 0; i < pkg.imports.length; i++) {
+					Import imp = pkg.importAt(i);
+					String path = imp.name.name;
+					for (Import p = imp; p.packageIndex.index < 0; ) {
+						p = pkg.importAt((-p.packageIndex.index) - 1);
+						path = p.name.name + "." + path;
+					}
+
+					assertNotNull(pkg.resolvePath(path));
+				}
+
+				assertEquals(pkg.importAt(0), pkg.resolvePath("engine"));
+				assertEquals(pkg.rootExports().size(), pkg.childrenOfPath("").size());
+				assertNull(pkg.resolvePath("Nothing.Here"));
+				assertTrue(pkg.childrenOfPath("Nothing.Here").isEmpty());
+			}
+		}
+	}
+
+	@Test
+	public void nameIndex() throws IOException {
+		for (Package.TableMode mode : Package.TableMode.values()) {
+			try (Package pkg = new Package(unrMap, mode)) {
+				for (int i = 0; i < pkg.objects.length; i += 17) {
+					ExportedObject object = pkg.objectAt(i);
+					if (object == null) continue;
+
+					ExportedObject found = pkg.objectByName(object.name.name.toUpperCase());
+					assertNotNull(found);
+					assertTrue(found.name.name.equalsIgnoreCase(object.name.name));
+					assertTrue(found.index <= object.index);
+					assertSame(found, pkg.objectByName(object.name));
+
+					assertTrue(pkg.exportsByName(object.name.name).contains(pkg.exportAt(object.index)));
+					assertTrue(pkg.containsName(object.name.name.toLowerCase()));
+				}
+
+				assertTrue(pkg.containsName("LevelInfo"));
+				assertTrue(pkg.nameIndexOf("none") >= 0);
+				assertFalse(pkg.containsName("NotAThingInThisPackage"));
+				assertNull(pkg.objectByName("NotAThingInThisPackage"));
+				assertTrue(pkg.exportsByName("NotAThingInThisPackage").isEmpty());
+			}
+		}
+	}
+
 	@Test
 	public void readImports() throws IOException {
 		try (Package pkg = new Package(unrMap)) {
@@ -8,6 +8,8 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import javax.imageio.ImageIO;
 
@@ -15,9 +17,13 @@ import net.shrimpworks.unreal.packages.entities.Export;
 import net.shrimpworks.unreal.packages.entities.ExportedObject;
 import net.shrimpworks.unreal.packages.entities.Import;
 import net.shrimpworks.unreal.packages.entities.Name;
+import net.shrimpworks.unreal.packages.entities.Named;
 import net.shrimpworks.unreal.packages.entities.objects.Object;
 import net.shrimpworks.unreal.packages.entities.objects.Texture2D;
+import net.shrimpworks.unreal.packages.entities.properties.IntArrayProperty;
 import net.shrimpworks.unreal.packages.entities.properties.Property;
+import net.shrimpworks.unreal.packages.entities.properties.PropertyType;
+import net.shrimpworks.unreal.packages.entities.properties.UnknownArrayProperty;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -102,4 +108,65 @@ public class PackageUE3Test extends PackageTestUtils {
 			assertFalse(im.isEmpty());
 		}
 	}
+
+	@Test
+	public void typedArrays() throws IOException {
+		try (Package pkg = new Package(ut3Map); Package typed = new Package(ut3Map)) {
+			// objects are read again as each array type is declared, so must not be served from the cache
+			typed.setObjectCache(ObjectCache.none());
+
+			for (int i = 0; i < pkg.objects.length; i++) {
+				ExportedObject o = pkg.objects[i];
+				if (o == null || o.size <= 0 || o.classIndex.index == 0) continue;
+
+				for (Property property : o.object().properties) {
+					if (!(property instanceof UnknownArrayProperty array)) continue;
+
+					// arrays of object references are the most common, any other arrays will not match in size
+					typed.setArrayType(array.name.name, PropertyType.ObjectProperty);
+					Property read = typed.objects[i].object().property(array.name.name);
+					if (read instanceof IntArrayProperty ints) {
+						assertEquals(array.count, ints.size());
+						for (int e = 0; e < ints.size(); e++) {
+							assertNotNull(ints.reference(e));
+						}
+					} else {
+						assertTrue(read instanceof UnknownArrayProperty);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void resolveNumberedPaths() throws IOException {
+		for (Package.TableMode mode : Package.TableMode.values()) {
+			try (Package pkg = new Package(ut3Map, mode)) {
+				// count numbered exports sharing a name within the same group, such as StaticMeshActor_12 and StaticMeshActor_13
+				Map<String, Integer> siblings = new HashMap<>();
+				for (int i = 0; i < pkg.exports.length; i++) {
+					Export export = pkg.exportAt(i);
+					if (export.name.number <= 0) continue;
+
+					String path = pathSegment(export.name);
+					for (Export e = export; e.groupIndex.index > 0; ) {
+						e = pkg.exportAt(e.groupIndex.index - 1);
+						path = pathSegment(e.name) + "." + path;
+					}
+
+					Named found = pkg.resolvePath(path);
+					assertTrue(found instanceof Export);
+					assertEquals(export.index, ((Export)found).index);
+
+					siblings.merge(export.groupIndex.index + ":" + export.name.name, 1, Integer::sum);
+				}
+
+				assertTrue(siblings.values().stream().anyMatch(c -> c > 1));
+			}
+		}
+	}
+
+	private static String pathSegment(Name name) {
+		return name.number > 0 ? name.name + "_" + (name.number - 1) : name.name;
+	}
 }
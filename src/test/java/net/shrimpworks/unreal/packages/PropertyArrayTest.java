@@ -0,0 +1,198 @@
+package net.shrimpworks.unreal.packages;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import net.shrimpworks.unreal.packages.entities.objects.Object;
+import net.shrimpworks.unreal.packages.entities.properties.FloatArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.IntArrayProperty;
+import net.shrimpworks.unreal.packages.entities.properties.IntegerProperty;
+import net.shrimpworks.unreal.packages.entities.properties.PropertyType;
+import net.shrimpworks.unreal.packages.entities.properties.UnknownArrayProperty;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyArrayTest {
+
+	private static final int VERSION = 512;
+
+	// large enough that each array is larger than the reader's buffer
+	private static final int INT_COUNT = 5000;
+	private static final int FLOAT_COUNT = 3000;
+
+	private static final List<String> NAMES = List.of(
+		"None", "Core", "Package", "Class", "Actor", "TestObject",
+		"ArrayProperty", "IntProperty", "Values", "Floats", "After"
+	);
+
+	private Path pkgFile;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		pkgFile = Files.createTempFile("test-arrays-", ".ut3");
+		Files.write(pkgFile, writePackage());
+	}
+
+	@AfterEach
+	public void teardown() throws IOException {
+		Files.deleteIfExists(pkgFile);
+	}
+
+	@Test
+	public void largeTypedArrays() throws IOException {
+		for (boolean mapped : new boolean[] { false, true }) {
+			for (boolean lazy : new boolean[] { false, true }) {
+				try (Package pkg = new Package(new PackageReader(pkgFile, false, mapped))) {
+					pkg.setArrayType("Values", PropertyType.IntProperty);
+					pkg.setArrayType("Floats", PropertyType.FloatProperty);
+					pkg.setLazyProperties(lazy);
+
+					Object object = pkg.objects[0].object();
+
+					IntArrayProperty values = (IntArrayProperty)object.property("Values");
+					assertEquals(INT_COUNT, values.size());
+					for (int i = 0; i < INT_COUNT; i++) assertEquals(i * 3, values.get(i));
+
+					FloatArrayProperty floats = (FloatArrayProperty)object.property("Floats");
+					assertEquals(FLOAT_COUNT, floats.size());
+					for (int i = 0; i < FLOAT_COUNT; i++) assertEquals(i / 2f, floats.get(i));
+
+					// the property following the arrays is intact
+					assertEquals(42, ((IntegerProperty)object.property("After")).value);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void undeclaredArrays() throws IOException {
+		try (Package pkg = new Package(new PackageReader(pkgFile, false, false))) {
+			Object object = pkg.objects[0].object();
+
+			assertEquals(INT_COUNT, ((UnknownArrayProperty)object.property("Values")).count);
+			assertEquals(FLOAT_COUNT, ((UnknownArrayProperty)object.property("Floats")).count);
+			assertEquals(42, ((IntegerProperty)object.property("After")).value);
+		}
+	}
+
+	@Test
+	public void mismatchedArrayType() throws IOException {
+		try (Package pkg = new Package(new PackageReader(pkgFile, false, false))) {
+			// bytes don't fit the size of the array, so it's left unknown
+			pkg.setArrayType("Values", PropertyType.ByteProperty);
+			Object object = pkg.objects[0].object();
+
+			assertEquals(INT_COUNT, ((UnknownArrayProperty)object.property("Values")).count);
+			assertEquals(42, ((IntegerProperty)object.property("After")).value);
+		}
+	}
+
+	/**
+	 * Write a minimal uncompressed Unreal Engine 3 package, containing a
+	 * single object with some large dynamic array properties.
+	 */
+	private static byte[] writePackage() {
+		ByteBuffer buf = ByteBuffer.allocate(1024 * 128).order(ByteOrder.LITTLE_ENDIAN);
+
+		buf.putInt(Package.PKG_SIGNATURE);
+		buf.putShort((short)VERSION);
+		buf.putShort((short)0); // license
+		buf.putInt(0); // header size
+		buf.putInt(0); // folder name, empty string
+		buf.putInt(0); // flags
+		buf.putInt(NAMES.size());
+		int namePos = buf.position();
+		buf.putInt(0);
+		buf.putInt(1); // export count
+		int exportPos = buf.position();
+		buf.putInt(0);
+		buf.putInt(2); // import count
+		int importPos = buf.position();
+		buf.putInt(0);
+		buf.putInt(0); // depends position
+		buf.put(new byte[16]); // guid
+		buf.putInt(0); // generations
+		buf.putInt(VERSION); // engine version
+		buf.putInt(0); // cooker version
+		buf.putInt(0); // compression flags
+		buf.putInt(0); // compressed chunks
+
+		buf.putInt(namePos, buf.position());
+		for (String name : NAMES) {
+			buf.putInt(name.length() + 1);
+			buf.put(name.getBytes(StandardCharsets.ISO_8859_1));
+			buf.put((byte)0);
+			buf.putLong(0); // flags
+		}
+
+		buf.putInt(importPos, buf.position());
+		putName(buf, "Core");
+		putName(buf, "Package");
+		buf.putInt(0);
+		putName(buf, "Core");
+
+		putName(buf, "Core");
+		putName(buf, "Class");
+		buf.putInt(-1);
+		putName(buf, "Actor");
+
+		buf.putInt(exportPos, buf.position());
+		buf.putInt(-2); // class, the Actor import
+		buf.putInt(0); // super
+		buf.putInt(0); // group
+		putName(buf, "TestObject");
+		buf.putInt(0); // archetype
+		buf.putLong(0); // flags
+		int sizePos = buf.position();
+		buf.putInt(0);
+		int dataPos = buf.position();
+		buf.putInt(0);
+		buf.putInt(0); // components
+		buf.putInt(0); // export flags
+		buf.putInt(0); // net objects
+		buf.put(new byte[16]); // guid
+		buf.putInt(0); // package flags
+
+		int start = buf.position();
+		buf.putInt(dataPos, start);
+		buf.putInt(0); // net index
+
+		putTag(buf, "Values", "ArrayProperty", 4 + (INT_COUNT * 4));
+		buf.putInt(INT_COUNT);
+		for (int i = 0; i < INT_COUNT; i++) buf.putInt(i * 3);
+
+		putTag(buf, "Floats", "ArrayProperty", 4 + (FLOAT_COUNT * 4));
+		buf.putInt(FLOAT_COUNT);
+		for (int i = 0; i < FLOAT_COUNT; i++) buf.putFloat(i / 2f);
+
+		putTag(buf, "After", "IntProperty", 4);
+		buf.putInt(42);
+
+		putName(buf, "None");
+		buf.putInt(sizePos, buf.position() - start);
+
+		return Arrays.copyOf(buf.array(), buf.position());
+	}
+
+	private static void putTag(ByteBuffer buf, String name, String type, int size) {
+		putName(buf, name);
+		putName(buf, type);
+		buf.putInt(size);
+		buf.putInt(0); // array index
+	}
+
+	private static void putName(ByteBuffer buf, String name) {
+		buf.putInt(NAMES.indexOf(name));
+		buf.putInt(0); // number
+	}
+}